@@ -0,0 +1,114 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tell when availability of a computer drops below its threshold and when it recovers.
+ * <p>
+ * Only computers with a threshold configured are tracked. The alert is raised
+ * once when the availability drops below the threshold and cleared once it is
+ * back, so a computer staying below the threshold is reported only once.
+ */
+/*package*/ final class AvailabilityAlerts {
+
+    private final ConcurrentMap<String, Tracker> trackers = new ConcurrentHashMap<>();
+
+    /**
+     * Record the status of the computer and evaluate its availability.
+     *
+     * @param threshold Percentage of the window the computer is expected to be online, 0 not to track it.
+     * @return Change of the alert, null if there is none.
+     */
+    /*package*/ @CheckForNull Alert observe(
+            final @NonNull String name, final boolean online, final int threshold, final int windowMinutes, final long now
+    ) {
+
+        if (threshold <= 0) {
+
+            trackers.remove(name);
+            return null;
+        }
+
+        final Tracker tracker = trackers.compute(name, (key, old) ->
+                old == null || old.series.getWindowMinutes() != windowMinutes
+                        ? new Tracker(new AvailabilitySeries(windowMinutes, online, now), now)
+                        : old
+        );
+
+        synchronized (tracker) {
+
+            tracker.series.update(online, now);
+
+            // Judge only what was observed over the whole window
+            if (now - tracker.start < TimeUnit.MINUTES.toMillis(windowMinutes)) return null;
+
+            final double percent = 100 * tracker.series.availability(now);
+            if (!tracker.alerting && percent < threshold) {
+
+                tracker.alerting = true;
+                return new Alert(false, percent);
+            }
+            if (tracker.alerting && percent >= threshold) {
+
+                tracker.alerting = false;
+                return new Alert(true, percent);
+            }
+        }
+
+        return null;
+    }
+
+    /*package*/ void remove(final @NonNull String name) {
+
+        trackers.remove(name);
+    }
+
+    /**
+     * @param recovered Availability is back at or above the threshold.
+     * @param percent Availability over the window.
+     */
+    /*package*/ record Alert(boolean recovered, double percent) {}
+
+    private static final class Tracker {
+
+        private final @NonNull AvailabilitySeries series;
+        private final long start;
+
+        // Guarded by this
+        private boolean alerting;
+
+        private Tracker(final @NonNull AvailabilitySeries series, final long start) {
+
+            this.series = series;
+            this.start = start;
+        }
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Online time of a computer over a sliding window, in minute buckets.
+ * <p>
+ * Buckets form a ring covering the window and the online time of the whole window
+ * is kept as running sum, so updating the series costs a constant amount of work per
+ * minute elapsed and reading the availability costs nothing. Memory is fixed by the
+ * window size.
+ */
+/*package*/ final class AvailabilitySeries {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    // Online milliseconds per minute, indexed by epoch minute modulo window
+    private final int[] buckets;
+    private long sum;
+
+    private final long start;
+    private long accounted;
+    private boolean online;
+
+    /*package*/ AvailabilitySeries(final int windowMinutes, final boolean online, final long now) {
+
+        this.buckets = new int[Math.max(1, windowMinutes)];
+        this.start = now;
+        this.accounted = now;
+        this.online = online;
+    }
+
+    /*package*/ int getWindowMinutes() {
+
+        return buckets.length;
+    }
+
+    /**
+     * Computer status changed.
+     */
+    /*package*/ synchronized void update(final boolean online, final long now) {
+
+        advance(now);
+        this.online = online;
+    }
+
+    /**
+     * Fraction of the window the computer was online, or of the time since tracking started when shorter.
+     */
+    /*package*/ synchronized double availability(final long now) {
+
+        advance(now);
+
+        // Current minute counts only as far as it went
+        final long window = Math.min(now - start, (buckets.length - 1) * MINUTE + now % MINUTE);
+        if (window <= 0) return online ? 1 : 0;
+
+        return Math.min(1, (double) sum / window);
+    }
+
+    /**
+     * Account the time since the last update to the status the computer was in.
+     */
+    private void advance(final long now) {
+
+        if (now <= accounted) return;
+
+        final long minutes = now / MINUTE - accounted / MINUTE;
+        if (minutes >= buckets.length) {
+
+            // The whole window elapsed without a change
+            Arrays.fill(buckets, online ? (int) MINUTE : 0);
+            buckets[index(now)] = online ? (int) (now % MINUTE) : 0;
+            sum = online ? (buckets.length - 1) * MINUTE + now % MINUTE : 0;
+            accounted = now;
+            return;
+        }
+
+        long time = accounted;
+        while (time < now) {
+
+            final long minuteEnd = (time / MINUTE + 1) * MINUTE;
+            final long end = Math.min(minuteEnd, now);
+            if (online) {
+                buckets[index(time)] += (int) (end - time);
+                sum += end - time;
+            }
+
+            if (end == minuteEnd) {
+                // Entering the next minute recycles the oldest bucket
+                final int next = index(end);
+                sum -= buckets[next];
+                buckets[next] = 0;
+            }
+            time = end;
+        }
+        accounted = now;
+    }
+
+    private int index(final long time) {
+
+        return (int) ((time / MINUTE) % buckets.length);
+    }
+}
@@ -0,0 +1,301 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Unified diff of two text files.
+ * <p>
+ * Only 64-bit hashes of the lines are held in memory while comparing, line
+ * content is streamed from the files again when the diff is written. Lines in
+ * common at the beginning and the end are skipped, the rest is compared by
+ * LCS if it is small enough, reported as replaced block otherwise.
+ */
+/*package*/ final class ConfigDiff {
+
+    private static final int CONTEXT = 3;
+
+    // Bound of the LCS table for the differing part of the files
+    private static final long MAX_CELLS = 1_000_000;
+
+    private static final String TRUNCATED = "\n[diff truncated]\n";
+
+    private ConfigDiff() {}
+
+    /**
+     * @param maxChars Maximal size of the diff returned.
+     * @return Unified diff, empty if files do not differ.
+     */
+    /*package*/ static @NonNull String unified(
+            final @NonNull Path from, final @NonNull String fromLabel,
+            final @NonNull Path to, final @NonNull String toLabel,
+            final int maxChars
+    ) throws IOException {
+
+        final long[] a = hashes(from);
+        final long[] b = hashes(to);
+
+        final List<Change> changes = changes(a, b);
+        if (changes.isEmpty()) return "";
+
+        final StringBuilder out = new StringBuilder();
+        out.append("--- ").append(fromLabel).append('\n');
+        out.append("+++ ").append(toLabel).append('\n');
+
+        try (Lines linesA = new Lines(from); Lines linesB = new Lines(to)) {
+
+            int next = 0;
+            while (next < changes.size()) {
+
+                // Changes close to each other share a hunk
+                int last = next;
+                while (last + 1 < changes.size() && changes.get(last + 1).aStart - changes.get(last).aEnd <= 2 * CONTEXT) {
+                    last++;
+                }
+
+                final Change first = changes.get(next);
+                final int aFrom = Math.max(0, first.aStart - CONTEXT);
+                final int aTo = Math.min(a.length, changes.get(last).aEnd + CONTEXT);
+                final int bFrom = first.bStart - (first.aStart - aFrom);
+                final int bTo = changes.get(last).bEnd + (aTo - changes.get(last).aEnd);
+
+                out.append("@@ -").append(range(aFrom, aTo - aFrom))
+                        .append(" +").append(range(bFrom, bTo - bFrom))
+                        .append(" @@\n")
+                ;
+
+                int line = aFrom;
+                for (int i = next; i <= last; i++) {
+
+                    final Change change = changes.get(i);
+                    for (; line < change.aStart; line++) {
+                        out.append(' ').append(linesA.get(line)).append('\n');
+                    }
+                    for (int j = change.aStart; j < change.aEnd; j++) {
+                        out.append('-').append(linesA.get(j)).append('\n');
+                    }
+                    for (int j = change.bStart; j < change.bEnd; j++) {
+                        out.append('+').append(linesB.get(j)).append('\n');
+                    }
+                    line = change.aEnd;
+
+                    if (out.length() > maxChars) return truncate(out, maxChars);
+                }
+
+                for (; line < aTo; line++) {
+                    out.append(' ').append(linesA.get(line)).append('\n');
+                }
+
+                if (out.length() > maxChars) return truncate(out, maxChars);
+
+                next = last + 1;
+            }
+        }
+
+        return out.toString();
+    }
+
+    /*package*/ static @NonNull List<Change> changes(final @NonNull long[] a, final @NonNull long[] b) {
+
+        int start = 0;
+        while (start < a.length && start < b.length && a[start] == b[start]) start++;
+
+        int endA = a.length;
+        int endB = b.length;
+        while (endA > start && endB > start && a[endA - 1] == b[endB - 1]) {
+            endA--;
+            endB--;
+        }
+
+        final List<Change> changes = new ArrayList<>();
+        final int n = endA - start;
+        final int m = endB - start;
+        if (n == 0 && m == 0) return changes;
+
+        if (n == 0 || m == 0 || (long) (n + 1) * (m + 1) > MAX_CELLS) {
+            changes.add(new Change(start, endA, start, endB));
+            return changes;
+        }
+
+        // Length of the longest common subsequence of the suffixes
+        final int width = m + 1;
+        final int[] lcs = new int[(n + 1) * width];
+        for (int i = n - 1; i >= 0; i--) {
+            for (int j = m - 1; j >= 0; j--) {
+                lcs[i * width + j] = a[start + i] == b[start + j]
+                        ? lcs[(i + 1) * width + j + 1] + 1
+                        : Math.max(lcs[(i + 1) * width + j], lcs[i * width + j + 1])
+                ;
+            }
+        }
+
+        int i = 0;
+        int j = 0;
+        int changeA = -1;
+        int changeB = -1;
+        while (i < n || j < m) {
+
+            if (i < n && j < m && a[start + i] == b[start + j]) {
+
+                if (changeA >= 0) {
+                    changes.add(new Change(start + changeA, start + i, start + changeB, start + j));
+                    changeA = -1;
+                }
+                i++;
+                j++;
+                continue;
+            }
+
+            if (changeA < 0) {
+                changeA = i;
+                changeB = j;
+            }
+
+            if (j < m && (i == n || lcs[i * width + j + 1] >= lcs[(i + 1) * width + j])) {
+                j++;
+            } else {
+                i++;
+            }
+        }
+
+        if (changeA >= 0) {
+            changes.add(new Change(start + changeA, start + n, start + changeB, start + m));
+        }
+
+        return changes;
+    }
+
+    private static String range(final int start, final int length) {
+
+        // Empty range refers to the line before
+        return length == 0
+                ? start + ",0"
+                : (start + 1) + "," + length
+        ;
+    }
+
+    private static String truncate(final StringBuilder out, final int maxChars) {
+
+        out.setLength(Math.max(0, maxChars));
+        return out.append(TRUNCATED).toString();
+    }
+
+    private static long[] hashes(final Path file) throws IOException {
+
+        long[] hashes = new long[256];
+        int count = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+
+            String line;
+            while ((line = reader.readLine()) != null) {
+
+                if (count == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, count * 2);
+                }
+                hashes[count++] = hash(line);
+            }
+        }
+
+        return Arrays.copyOf(hashes, count);
+    }
+
+    // FNV-1a
+    private static long hash(final String line) {
+
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < line.length(); i++) {
+            hash ^= line.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Lines <tt>[aStart, aEnd)</tt> replaced by <tt>[bStart, bEnd)</tt>.
+     */
+    /*package*/ static final class Change {
+
+        /*package*/ final int aStart;
+        /*package*/ final int aEnd;
+        /*package*/ final int bStart;
+        /*package*/ final int bEnd;
+
+        /*package*/ Change(final int aStart, final int aEnd, final int bStart, final int bEnd) {
+
+            this.aStart = aStart;
+            this.aEnd = aEnd;
+            this.bStart = bStart;
+            this.bEnd = bEnd;
+        }
+
+        @Override
+        public String toString() {
+
+            return String.format("[%d,%d) -> [%d,%d)", aStart, aEnd, bStart, bEnd);
+        }
+    }
+
+    /**
+     * Forward-only access to the lines of a file.
+     */
+    private static final class Lines implements Closeable {
+
+        private final BufferedReader reader;
+        private int index = -1;
+        private String current;
+
+        private Lines(final Path file) throws IOException {
+
+            this.reader = Files.newBufferedReader(file, StandardCharsets.UTF_8);
+        }
+
+        private String get(final int line) throws IOException {
+
+            while (index < line) {
+                current = reader.readLine();
+                index++;
+            }
+
+            return current == null ? "" : current;
+        }
+
+        @Override
+        public void close() throws IOException {
+
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import hudson.Extension;
+import hudson.Util;
+import hudson.cli.CLICommand;
+
+import org.kohsuke.args4j.Option;
+
+/**
+ * Configure watcher of all jobs in a folder or matching a regular expression.
+ *
+ * @see WatcherBulkConfiguration
+ */
+@Extension
+public class ConfigureWatchersCommand extends CLICommand {
+
+    @Option(name = "--folder", usage = "Full name of the folder to configure jobs in, including subfolders")
+    public String folder;
+
+    @Option(name = "--regex", usage = "Regular expression full names of the jobs need to match")
+    public String regex;
+
+    @Option(name = "--addresses", usage = "Addresses to notify about job changes", forbids = "--remove")
+    public String addresses;
+
+    @Option(name = "--watch-build-results", usage = "Notify about build result changes too", forbids = "--remove")
+    public boolean watchBuildResults;
+
+    @Option(name = "--remove", usage = "Stop watching the jobs", forbids = "--addresses")
+    public boolean remove;
+
+    @Option(name = "--parallelism", usage = "Number of jobs to save at once")
+    public int parallelism;
+
+    @Override
+    public String getShortDescription() {
+
+        return "Configure Mail Watcher of all jobs in a folder or matching a regular expression.";
+    }
+
+    @Override
+    protected int run() throws Exception {
+
+        if (Util.fixEmptyAndTrim(addresses) == null && !remove) throw new IllegalArgumentException(
+                "Either --addresses or --remove is required"
+        );
+
+        final WatcherBulkConfiguration.Result result = WatcherBulkConfiguration.get().apply(
+                folder, regex, remove ? null : addresses, watchBuildResults, parallelism
+        );
+        stdout.println(result);
+        for (final String failed: result.failed()) {
+            stderr.println("Unable to configure " + failed);
+        }
+
+        return result.failed().isEmpty() ? 0 : 1;
+    }
+}
@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.ExtensionPoint;
+
+/**
+ * Way of delivering notifications.
+ * <p>
+ * Every enabled channel gets the notification through its own bounded queue
+ * served by its own workers, so a slow or unavailable channel does not hold
+ * back the others nor the thread the notification was sent from. The content
+ * of the notification is computed before it is queued.
+ */
+public abstract class DeliveryChannel implements ExtensionPoint {
+
+    /**
+     * Deliver notifications through this channel.
+     */
+    public abstract boolean isEnabled(final @NonNull MailWatcherConfiguration config);
+
+    /**
+     * Deliver the notification, called by the workers of the channel.
+     */
+    public abstract void deliver(
+            final @NonNull MailWatcherNotification notification, final @NonNull MailWatcherConfiguration config
+    ) throws Exception;
+
+    /**
+     * Notifications waiting for delivery before new ones are dropped.
+     */
+    public int getQueueCapacity() {
+
+        return 100;
+    }
+
+    /**
+     * Deliver on the thread the notification was sent from once the queue is full, rather than dropping it.
+     */
+    public boolean isDeliveredWhenFull() {
+
+        return false;
+    }
+
+    /**
+     * Notifications delivered concurrently.
+     */
+    public int getWorkers() {
+
+        return 1;
+    }
+
+    public abstract @NonNull String getDisplayName();
+}
@@ -0,0 +1,210 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.init.Terminator;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Hand notifications over to the enabled {@link DeliveryChannel}s.
+ */
+@Extension
+public class DeliveryChannels {
+
+    private static final Logger LOGGER = Logger.getLogger(DeliveryChannels.class.getName());
+
+    /**
+     * Reached once the channels stopped delivering, so mail connections can be closed.
+     */
+    /*package*/ static final String DRAINED = "mail-watcher-channels-drained";
+
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final Map<DeliveryChannel, Lane> lanes = new ConcurrentHashMap<>();
+
+    public static @NonNull DeliveryChannels get() {
+
+        return ExtensionList.lookupSingleton(DeliveryChannels.class);
+    }
+
+    /*package*/ static @CheckForNull DeliveryChannels getOrNull() {
+
+        return Jenkins.getInstanceOrNull() == null ? null : get();
+    }
+
+    /**
+     * Queue the notification for delivery by all enabled channels.
+     */
+    public void dispatch(final @NonNull MailWatcherNotification notification) {
+
+        dispatch(notification, MailWatcherConfiguration.get(), ExtensionList.lookup(DeliveryChannel.class));
+    }
+
+    /*package*/ void dispatch(
+            final @NonNull MailWatcherNotification notification,
+            final @NonNull MailWatcherConfiguration config,
+            final @NonNull List<DeliveryChannel> channels
+    ) {
+
+        if (!notification.shouldNotify()) return;
+
+        for (final DeliveryChannel channel: channels) {
+
+            if (!channel.isEnabled(config)) continue;
+
+            lanes.computeIfAbsent(channel, Lane::new).submit(notification, config);
+        }
+    }
+
+    /**
+     * Notifications dropped by the channel since the start because its queue was full.
+     *
+     * @see DeliveryChannel#isDeliveredWhenFull()
+     */
+    public long getDropped(final @NonNull DeliveryChannel channel) {
+
+        final Lane lane = lanes.get(channel);
+        return lane == null ? 0 : lane.dropped.get();
+    }
+
+    /**
+     * Notifications waiting for delivery by the channel.
+     */
+    public int getQueued(final @NonNull DeliveryChannel channel) {
+
+        final Lane lane = lanes.get(channel);
+        return lane == null ? 0 : lane.pool.getQueue().size();
+    }
+
+    /**
+     * Stop accepting notifications and wait for the queued ones to be delivered.
+     *
+     * @return Number of notifications left undelivered once the time is up.
+     */
+    /*package*/ int close(final long timeout, final @NonNull TimeUnit unit) {
+
+        for (final Lane lane: lanes.values()) {
+            lane.pool.shutdown();
+        }
+
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int left = 0;
+        for (final Lane lane: lanes.values()) {
+
+            try {
+
+                if (lane.pool.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) continue;
+            } catch (InterruptedException ex) {
+
+                Thread.currentThread().interrupt();
+            }
+
+            final int undelivered = lane.pool.shutdownNow().size();
+            left += undelivered;
+            LOGGER.log(Level.WARNING, "{0} did not finish delivering, {1} notifications left undelivered", new Object[] {
+                    lane.channel.getDisplayName(), undelivered
+            });
+        }
+
+        return left;
+    }
+
+    @Terminator(attains = DRAINED)
+    public static void shutdown() {
+
+        final DeliveryChannels channels = getOrNull();
+        if (channels != null) {
+            channels.close(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Queue and workers of a channel.
+     */
+    private static final class Lane {
+
+        private final @NonNull DeliveryChannel channel;
+        private final @NonNull ThreadPoolExecutor pool;
+        private final AtomicLong dropped = new AtomicLong();
+
+        private Lane(final @NonNull DeliveryChannel channel) {
+
+            this.channel = channel;
+
+            final int workers = Math.max(1, channel.getWorkers());
+            this.pool = new ThreadPoolExecutor(
+                    workers, workers, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(Math.max(1, channel.getQueueCapacity())),
+                    new NamingThreadFactory(new DaemonThreadFactory(), "Mail Watcher " + channel.getDisplayName()),
+                    channel.isDeliveredWhenFull()
+                            ? new ThreadPoolExecutor.CallerRunsPolicy()
+                            : new ThreadPoolExecutor.AbortPolicy()
+            );
+            pool.allowCoreThreadTimeOut(true);
+        }
+
+        private void submit(
+                final @NonNull MailWatcherNotification notification, final @NonNull MailWatcherConfiguration config
+        ) {
+
+            try {
+
+                pool.execute(() -> {
+                    try {
+
+                        channel.deliver(notification, config);
+                    } catch (Exception ex) {
+
+                        LOGGER.log(Level.WARNING, String.format(
+                                "Unable to deliver %s through %s", notification.getMailSubject(), channel.getDisplayName()
+                        ), ex);
+                    }
+                });
+            } catch (RejectedExecutionException ex) {
+
+                dropped.incrementAndGet();
+                LOGGER.log(Level.WARNING, "{0} queue is full, dropping: {1}", new Object[] {
+                        channel.getDisplayName(), notification.getMailSubject()
+                });
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import jakarta.mail.Address;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Record messages instead of sending them.
+ * <p>
+ * Every message is rendered the way it would be sent and a line with its recipient count,
+ * size, rendering time and subject is appended to <tt>JENKINS_HOME/mail-watcher/dry-run.log</tt>.
+ * Used to measure the notification load before configuring the delivery.
+ */
+@Extension
+public class DryRunSink {
+
+    private static final Logger LOGGER = Logger.getLogger(DryRunSink.class.getName());
+
+    private final @NonNull Path file;
+
+    private final AtomicLong messages = new AtomicLong();
+    private final AtomicLong recipients = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+
+    // Guarded by this
+    private BufferedWriter writer;
+
+    public DryRunSink() {
+
+        this(Jenkins.get().getRootDir().toPath().resolve("mail-watcher").resolve("dry-run.log"));
+    }
+
+    /*package*/ DryRunSink(final @NonNull Path file) {
+
+        this.file = file;
+    }
+
+    public static @NonNull DryRunSink get() {
+
+        return ExtensionList.lookupSingleton(DryRunSink.class);
+    }
+
+    /**
+     * Render the message and record it.
+     */
+    public void accept(final @NonNull MimeMessage msg) throws MessagingException {
+
+        final long start = System.nanoTime();
+        final Counter counter = new Counter();
+        try {
+
+            msg.saveChanges();
+            msg.writeTo(counter);
+        } catch (IOException ex) {
+
+            throw new MessagingException("Unable to render " + msg.getSubject(), ex);
+        }
+        final long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+
+        final Address[] to = msg.getAllRecipients();
+        final int count = to == null ? 0 : to.length;
+
+        messages.incrementAndGet();
+        recipients.addAndGet(count);
+        bytes.addAndGet(counter.count);
+
+        write(String.format("%s\t%d\t%d\t%d\t%s%n",
+                Instant.now(), count, counter.count, micros, String.valueOf(msg.getSubject()).replace('\t', ' ')
+        ));
+    }
+
+    /**
+     * Messages recorded since the start.
+     */
+    public long getMessages() {
+
+        return messages.get();
+    }
+
+    /**
+     * Recipients of messages recorded since the start.
+     */
+    public long getRecipients() {
+
+        return recipients.get();
+    }
+
+    /**
+     * Size of messages recorded since the start.
+     */
+    public long getBytes() {
+
+        return bytes.get();
+    }
+
+    private synchronized void write(final @NonNull String line) {
+
+        try {
+
+            if (writer == null) {
+
+                Files.createDirectories(file.getParent());
+                final boolean created = !Files.exists(file);
+                writer = Files.newBufferedWriter(
+                        file, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND
+                );
+                if (created) writer.write("time\trecipients\tbytes\trender_us\tsubject\n");
+            }
+
+            writer.write(line);
+            writer.flush();
+        } catch (IOException ex) {
+
+            LOGGER.log(Level.WARNING, "Unable to write " + file, ex);
+            close();
+        }
+    }
+
+    /*package*/ synchronized void close() {
+
+        if (writer == null) return;
+
+        try {
+
+            writer.close();
+        } catch (IOException ex) {
+
+            LOGGER.log(Level.FINE, "Unable to close " + file, ex);
+        }
+        writer = null;
+    }
+
+    private static final class Counter extends OutputStream {
+
+        private long count;
+
+        @Override
+        public void write(final int b) {
+
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) {
+
+            count += len;
+        }
+    }
+}
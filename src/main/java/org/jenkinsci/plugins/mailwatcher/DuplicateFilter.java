@@ -0,0 +1,152 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drop notifications identical to one sent recently.
+ * <p>
+ * Fingerprints of notifications are kept in a ring of time buckets that
+ * together cover the configured window. Expired buckets are reused, so the
+ * memory is bounded by the number of buckets and their capacity.
+ */
+@Extension
+public class DuplicateFilter {
+
+    private static final int BUCKETS = 8;
+
+    // Fingerprints over the capacity are not remembered, so not filtered
+    private static final int BUCKET_CAPACITY = 4096;
+
+    private final Bucket[] buckets = new Bucket[BUCKETS];
+    private long width;
+
+    private final AtomicLong suppressed = new AtomicLong();
+
+    public static @NonNull DuplicateFilter get() {
+
+        return ExtensionList.lookupSingleton(DuplicateFilter.class);
+    }
+
+    /**
+     * Record the fingerprint.
+     *
+     * @return false if the same fingerprint was recorded within the window.
+     */
+    /*package*/ synchronized boolean admit(final long fingerprint, final long windowNanos, final long now) {
+
+        final long bucketWidth = Math.max(1, windowNanos / BUCKETS);
+        if (bucketWidth != width) {
+
+            // Window reconfigured
+            width = bucketWidth;
+            for (int i = 0; i < BUCKETS; i++) buckets[i] = null;
+        }
+
+        final long slot = Math.floorDiv(now, width);
+        for (final Bucket bucket: buckets) {
+
+            if (bucket != null && slot - bucket.slot < BUCKETS && bucket.fingerprints.contains(fingerprint)) {
+
+                suppressed.incrementAndGet();
+                return false;
+            }
+        }
+
+        final int index = (int) Math.floorMod(slot, (long) BUCKETS);
+        Bucket current = buckets[index];
+        if (current == null || current.slot != slot) {
+
+            current = new Bucket(slot);
+            buckets[index] = current;
+        }
+
+        if (current.fingerprints.size() < BUCKET_CAPACITY) {
+            current.fingerprints.add(fingerprint);
+        }
+
+        return true;
+    }
+
+    /**
+     * Forget the fingerprint, so the notification that was not delivered can be retried.
+     */
+    /*package*/ synchronized void forget(final long fingerprint) {
+
+        for (final Bucket bucket: buckets) {
+            if (bucket != null) bucket.fingerprints.remove(fingerprint);
+        }
+    }
+
+    /**
+     * Number of notifications dropped as duplicates.
+     */
+    public long getSuppressed() {
+
+        return suppressed.get();
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the parts.
+     */
+    /*package*/ static long fingerprint(final @CheckForNull String... parts) {
+
+        long hash = 0xcbf29ce484222325L;
+        for (final String part: parts) {
+
+            if (part != null) {
+                for (final byte b: part.getBytes(StandardCharsets.UTF_8)) {
+                    hash ^= b & 0xff;
+                    hash *= 0x100000001b3L;
+                }
+            }
+
+            // Separate the parts, so moving characters between them changes the hash
+            hash ^= 0xff;
+            hash *= 0x100000001b3L;
+        }
+
+        return hash;
+    }
+
+    private static final class Bucket {
+
+        private final long slot;
+        private final Set<Long> fingerprints = new HashSet<>();
+
+        private Bucket(final long slot) {
+
+            this.slot = slot;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.XmlFile;
+import hudson.model.Item;
+import hudson.model.ItemGroup;
+import hudson.model.Saveable;
+import hudson.model.listeners.ItemListener;
+import hudson.model.listeners.SaveableListener;
+
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Recipients of an item including those inherited from the folders it is in.
+ * <p>
+ * Effective recipients are cached by item full name. Sorted keys make it cheap
+ * to drop the entries of a whole subtree once a folder changes.
+ */
+@Extension
+public class EffectiveRecipients {
+
+    // No recipients, as the map does not take nulls
+    private static final String NONE = "";
+
+    private final ConcurrentNavigableMap<String, String> cache = new ConcurrentSkipListMap<>();
+
+    public static @NonNull EffectiveRecipients get() {
+
+        return ExtensionList.lookupSingleton(EffectiveRecipients.class);
+    }
+
+    /**
+     * @return Effective recipients or null when Jenkins is not running.
+     */
+    /*package*/ static @CheckForNull EffectiveRecipients getOrNull() {
+
+        return Jenkins.getInstanceOrNull() == null ? null : get();
+    }
+
+    /**
+     * @return Addresses configured on the item and its ancestors, null if none.
+     */
+    public @CheckForNull String of(final @NonNull Item item) {
+
+        final String fullName = item.getFullName();
+        if (fullName == null) return compute(item);
+
+        String recipients = cache.get(fullName);
+        if (recipients == null) {
+
+            final String computed = compute(item);
+            recipients = computed == null ? NONE : computed;
+            cache.put(fullName, recipients);
+        }
+
+        return NONE.equals(recipients) ? null : recipients;
+    }
+
+    private @CheckForNull String compute(final @NonNull Item item) {
+
+        final WatchedItemType type = WatchedItemType.of(item);
+        final String own = type == null ? null : type.getWatcherAddresses(item);
+
+        final ItemGroup<?> parent = item.getParent();
+        final String inherited = parent instanceof Item
+                ? of((Item) parent)
+                : null
+        ;
+
+        return MailWatcherMailer.mergeAddresses(own, inherited);
+    }
+
+    /**
+     * Forget the item and everything inside it.
+     */
+    /*package*/ void invalidate(final @CheckForNull String fullName) {
+
+        if (fullName == null) return;
+
+        cache.remove(fullName);
+        final String prefix = fullName + '/';
+        cache.subMap(prefix, prefix + Character.MAX_VALUE).clear();
+    }
+
+    /*package*/ int size() {
+
+        return cache.size();
+    }
+
+    @Extension
+    public static class ItemChanges extends ItemListener {
+
+        @Override
+        public void onCreated(final Item item) {
+
+            get().invalidate(item.getFullName());
+        }
+
+        @Override
+        public void onCopied(final Item src, final Item item) {
+
+            get().invalidate(item.getFullName());
+        }
+
+        @Override
+        public void onDeleted(final Item item) {
+
+            get().invalidate(item.getFullName());
+        }
+
+        @Override
+        public void onLocationChanged(final Item item, final String oldFullName, final String newFullName) {
+
+            get().invalidate(oldFullName);
+            get().invalidate(newFullName);
+        }
+    }
+
+    @Extension
+    public static class ConfigurationChanges extends SaveableListener {
+
+        @Override
+        public void onChange(final Saveable o, final XmlFile file) {
+
+            if (o instanceof Item) {
+
+                get().invalidate(((Item) o).getFullName());
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Collect events arriving within a time window and hand them over in a single batch.
+ * <p>
+ * The window opens with the first event for a given key and all events with
+ * that key are flushed together once it expires.
+ *
+ * @param <K> Batch key
+ * @param <E> Event type
+ */
+/*package*/ final class EventAggregator<K, E> {
+
+    private static final Logger LOGGER = Logger.getLogger(EventAggregator.class.getName());
+
+    private final @NonNull Supplier<ScheduledExecutorService> scheduler;
+    private final @NonNull BiConsumer<K, List<E>> flush;
+
+    private final Map<K, List<E>> pending = new HashMap<>();
+
+    /*package*/ EventAggregator(
+            final @NonNull Supplier<ScheduledExecutorService> scheduler,
+            final @NonNull BiConsumer<K, List<E>> flush
+    ) {
+
+        this.scheduler = scheduler;
+        this.flush = flush;
+    }
+
+    /*package*/ void add(final @NonNull K key, final @NonNull E event, final long windowMillis) {
+
+        final boolean opened;
+        synchronized (this) {
+
+            List<E> events = pending.get(key);
+            opened = events == null;
+            if (opened) {
+                events = new ArrayList<>();
+                pending.put(key, events);
+            }
+            events.add(event);
+        }
+
+        if (opened) {
+            scheduler.get().schedule(() -> flush(key), windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /*package*/ void flush(final @NonNull K key) {
+
+        final List<E> events;
+        synchronized (this) {
+            events = pending.remove(key);
+        }
+
+        if (events == null || events.isEmpty()) return;
+
+        try {
+
+            flush.accept(key, events);
+        } catch (RuntimeException ex) {
+
+            LOGGER.log(Level.WARNING, "Unable to flush " + events.size() + " events for " + key, ex);
+        }
+    }
+
+    /*package*/ synchronized int pending() {
+
+        int count = 0;
+        for (List<E> events: pending.values()) {
+            count += events.size();
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,369 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.model.PeriodicWork;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.mail.Address;
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+
+/**
+ * Keep the outgoing mail under the rate configured for the relay.
+ * <p>
+ * There is a global token bucket and, optionally, one per recipient domain.
+ * Messages that do not fit are held back and sent later. Messages held back for
+ * the same recipients are folded into a single digest once tokens are available.
+ * Only a bounded number of messages is kept, those over the limit are counted in the digest.
+ */
+@Extension
+public class MailThrottle {
+
+    private static final Logger LOGGER = Logger.getLogger(MailThrottle.class.getName());
+
+    /*package*/ static final int MAX_DIGEST_ENTRIES = 100;
+
+    // Every group keeps its first message even over the limit
+    /*package*/ static final int MAX_BACKLOG_ENTRIES = 1000;
+
+    private TokenBucket global;
+    private final Map<String, TokenBucket> domains = new HashMap<>();
+
+    // Keyed by normalized recipient list, in order of arrival
+    private final Map<String, Group> backlog = new LinkedHashMap<>();
+    private int backlogSize;
+    private int backlogEntries;
+
+    public static @NonNull MailThrottle get() {
+
+        return ExtensionList.lookupSingleton(MailThrottle.class);
+    }
+
+    /**
+     * Take tokens for a message to be sent right away.
+     *
+     * @return false if the message needs to be deferred
+     */
+    /*package*/ boolean admit(final Address[] recipients) {
+
+        final MailWatcherConfiguration config = MailWatcherConfiguration.get();
+        return tryAcquire(
+                config.getGlobalRateLimit(), config.getDomainRateLimit(),
+                domains(recipients), System.nanoTime()
+        );
+    }
+
+    /*package*/ synchronized boolean tryAcquire(
+            final int globalLimit, final int domainLimit, final Set<String> domains, final long now
+    ) {
+
+        // Do not let new messages overtake those already waiting
+        if (!backlog.isEmpty()) return false;
+
+        return acquire(globalLimit, domainLimit, domains, now);
+    }
+
+    /*package*/ synchronized void defer(final @NonNull Deferred deferred) {
+
+        final Group group = backlog.computeIfAbsent(deferred.key, k -> new Group());
+        backlogSize++;
+
+        final boolean full = group.entries.size() >= MAX_DIGEST_ENTRIES || backlogEntries >= MAX_BACKLOG_ENTRIES;
+        if (!group.entries.isEmpty() && full) {
+
+            group.omitted++;
+            return;
+        }
+
+        group.entries.add(deferred);
+        backlogEntries++;
+    }
+
+    /**
+     * Send everything the buckets have room for.
+     */
+    /*package*/ void drain() {
+
+        final MailWatcherConfiguration config = MailWatcherConfiguration.get();
+        for (Group group: take(config.getGlobalRateLimit(), config.getDomainRateLimit(), System.nanoTime())) {
+
+            final Deferred head = group.entries.get(0);
+            try {
+
+                head.mailer.sendDeferred(group);
+            } catch (MessagingException ex) {
+
+                LOGGER.log(Level.INFO, MailWatcherNotification.MAIL_WATCHER_PLUGIN + "unable to send deferred notification", ex);
+            }
+        }
+    }
+
+    /**
+     * Remove groups of deferred messages the buckets have tokens for.
+     */
+    /*package*/ synchronized @NonNull List<Group> take(
+            final int globalLimit, final int domainLimit, final long now
+    ) {
+
+        if (backlog.isEmpty()) return Collections.emptyList();
+
+        final List<Group> ready = new ArrayList<>();
+        final Iterator<Group> it = backlog.values().iterator();
+        while (it.hasNext()) {
+
+            final Group group = it.next();
+            // One group waiting for its domain should not stall the others
+            if (!acquire(globalLimit, domainLimit, group.entries.get(0).domains, now)) continue;
+
+            it.remove();
+            backlogSize -= group.size();
+            backlogEntries -= group.entries.size();
+            ready.add(group);
+        }
+
+        return ready;
+    }
+
+    private boolean acquire(
+            final int globalLimit, final int domainLimit, final Collection<String> domains, final long now
+    ) {
+
+        final TokenBucket globalBucket = globalBucket(globalLimit, now);
+        final List<TokenBucket> domainBuckets = domainBuckets(domainLimit, domains, now);
+
+        if (globalBucket != null && globalBucket.available(now) < 1) return false;
+        for (TokenBucket bucket: domainBuckets) {
+            if (bucket.available(now) < 1) return false;
+        }
+
+        if (globalBucket != null) globalBucket.tryAcquire(now);
+        for (TokenBucket bucket: domainBuckets) {
+            bucket.tryAcquire(now);
+        }
+
+        return true;
+    }
+
+    private TokenBucket globalBucket(final int limit, final long now) {
+
+        if (limit <= 0) {
+            global = null;
+        } else if (global == null || global.getPerMinute() != limit) {
+            global = new TokenBucket(limit, now);
+        }
+
+        return global;
+    }
+
+    private List<TokenBucket> domainBuckets(final int limit, final Collection<String> names, final long now) {
+
+        if (limit <= 0) {
+            domains.clear();
+            return Collections.emptyList();
+        }
+
+        final List<TokenBucket> buckets = new ArrayList<>(names.size());
+        for (String name: names) {
+
+            TokenBucket bucket = domains.get(name);
+            if (bucket == null || bucket.getPerMinute() != limit) {
+                bucket = new TokenBucket(limit, now);
+                domains.put(name, bucket);
+            }
+            buckets.add(bucket);
+        }
+
+        return buckets;
+    }
+
+    /**
+     * Tokens left in the global bucket, -1 when unlimited.
+     */
+    public synchronized double getGlobalTokens() {
+
+        return global == null ? -1 : global.available(System.nanoTime());
+    }
+
+    /**
+     * Tokens left per recipient domain.
+     */
+    public synchronized @NonNull Map<String, Double> getDomainTokens() {
+
+        final long now = System.nanoTime();
+        final Map<String, Double> tokens = new HashMap<>(domains.size());
+        for (Map.Entry<String, TokenBucket> e: domains.entrySet()) {
+            tokens.put(e.getKey(), e.getValue().available(now));
+        }
+
+        return tokens;
+    }
+
+    /**
+     * Number of messages waiting for tokens.
+     */
+    public synchronized int getBacklogSize() {
+
+        return backlogSize;
+    }
+
+    /*package*/ static @NonNull Set<String> domains(final Address[] recipients) {
+
+        final Set<String> domains = new TreeSet<>();
+        if (recipients == null) return domains;
+
+        for (Address address: recipients) {
+
+            final String domain = domain(address);
+            if (domain != null) domains.add(domain);
+        }
+
+        return domains;
+    }
+
+    /**
+     * @return Lowercase domain of the address, null if it has none.
+     */
+    /*package*/ static @CheckForNull String domain(final Address address) {
+
+        if (!(address instanceof InternetAddress)) return null;
+
+        final String raw = ((InternetAddress) address).getAddress();
+        final int at = raw == null ? -1 : raw.lastIndexOf('@');
+        if (at < 0) return null;
+
+        return raw.substring(at + 1).toLowerCase(Locale.ENGLISH);
+    }
+
+    /*package*/ static @NonNull String key(final Address[] recipients) {
+
+        if (recipients == null) return "";
+
+        final Set<String> normalized = new TreeSet<>();
+        for (Address address: recipients) {
+            normalized.add(address.toString().toLowerCase(Locale.ENGLISH));
+        }
+
+        return String.join(",", normalized);
+    }
+
+    /**
+     * Messages held back for the same recipients.
+     */
+    /*package*/ static final class Group {
+
+        /*package*/ final @NonNull List<Deferred> entries = new ArrayList<>();
+
+        // Held back over the limit, only counted in the digest
+        /*package*/ int omitted;
+
+        /*package*/ Group(final @NonNull Deferred... entries) {
+
+            this.entries.addAll(Arrays.asList(entries));
+        }
+
+        /**
+         * Number of messages held back, including the omitted ones.
+         */
+        /*package*/ int size() {
+
+            return entries.size() + omitted;
+        }
+    }
+
+    /**
+     * Message waiting for tokens.
+     */
+    /*package*/ static final class Deferred {
+
+        /*package*/ final @NonNull MailWatcherMailer mailer;
+        /*package*/ final @NonNull String name;
+        /*package*/ final @NonNull MimeMessage message;
+        /*package*/ final @NonNull Address[] recipients;
+        /*package*/ final @NonNull String subject;
+        /*package*/ final @NonNull String text;
+
+        private final String key;
+        private final Set<String> domains;
+
+        /*package*/ Deferred(
+                final @NonNull MailWatcherMailer mailer,
+                final @NonNull String name,
+                final @NonNull MimeMessage message,
+                final @NonNull String subject,
+                final @NonNull String text
+        ) throws MessagingException {
+
+            this.mailer = mailer;
+            this.name = name;
+            this.message = message;
+            this.subject = subject;
+            this.text = text;
+
+            final Address[] all = message.getAllRecipients();
+            this.recipients = all == null ? new Address[0] : Arrays.copyOf(all, all.length);
+            // Blind copies are digested apart so the digest does not reveal them
+            final Address[] blind = message.getRecipients(Message.RecipientType.BCC);
+            this.key = blind == null ? key(recipients) : "bcc:" + key(recipients);
+            this.domains = domains(recipients);
+        }
+    }
+
+    @Extension
+    public static class Drain extends PeriodicWork {
+
+        @Override
+        public long getRecurrencePeriod() {
+
+            return TimeUnit.SECONDS.toMillis(5);
+        }
+
+        @Override
+        protected void doRun() {
+
+            get().drain();
+        }
+    }
+}
@@ -0,0 +1,503 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.Util;
+import hudson.util.FormValidation;
+import net.sf.json.JSONObject;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import jenkins.model.GlobalConfiguration;
+import jenkins.model.Jenkins;
+
+import org.jenkinsci.Symbol;
+import org.kohsuke.stapler.DataBoundSetter;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.verb.POST;
+
+/**
+ * Plugin-wide settings.
+ */
+@Extension @Symbol("mailWatcher")
+public class MailWatcherConfiguration extends GlobalConfiguration {
+
+    /**
+     * Messages per minute the relay accepts from Jenkins, 0 for unlimited.
+     */
+    private int globalRateLimit;
+
+    /**
+     * Messages per minute for every recipient domain, 0 for unlimited.
+     */
+    private int domainRateLimit;
+
+    /**
+     * Recipients per message the relay accepts, 0 for unlimited.
+     */
+    private int maxRecipients;
+
+    /**
+     * Seconds to collect node online/offline events for before notifying, 0 to notify right away.
+     */
+    private int nodeEventWindow;
+
+    /**
+     * Minutes to collect node offline events routed to a digest for.
+     */
+    private int offlineDigestMinutes = 60;
+
+    private List<WatcherRule> rules = new ArrayList<>();
+
+    /**
+     * Number of console log lines to include in build result notifications.
+     */
+    private int buildLogLines = 50;
+
+    /**
+     * Embed unified diff of the last two job configuration revisions in job updated notifications.
+     */
+    private boolean inlineConfigDiff;
+
+    /**
+     * Maximal number of characters of the embedded diff.
+     */
+    private int configDiffLimit = 32 * 1024;
+
+    /**
+     * Send HTML along with the plain text.
+     */
+    private boolean htmlMail;
+
+    /**
+     * Seconds to cache addresses of users and groups for.
+     */
+    private int recipientCacheTtl = 300;
+
+    /**
+     * Seconds to drop notifications identical to one already sent for, 0 to never drop them.
+     */
+    private int duplicateWindow;
+
+    /**
+     * Recipients notified when global configuration files change.
+     */
+    private String globalConfigAddresses;
+
+    /**
+     * Global configuration files to watch, relative to JENKINS_HOME.
+     */
+    private String watchedGlobalFiles = "config.xml\ncredentials.xml";
+
+    /**
+     * Days to keep notification history for, 0 to keep it forever.
+     */
+    private int historyRetentionDays = 30;
+
+    /**
+     * Record messages to a file instead of sending them.
+     */
+    private boolean dryRun;
+
+    /**
+     * URL to POST notifications to as JSON.
+     */
+    private String webhookUrl;
+
+    /**
+     * Directory to write notifications to as JSON files, relative to JENKINS_HOME unless absolute.
+     */
+    private String spoolDirectory;
+
+    /**
+     * Recipients of the daily computer availability report.
+     */
+    private String availabilityReportAddresses;
+
+    /**
+     * Recipients notified when items pile up for a label with no idle executor.
+     */
+    private String starvationAddresses;
+
+    /**
+     * Items waiting for a label to consider it starving, 0 not to watch labels.
+     */
+    private int starvationQueueLength;
+
+    /**
+     * Minutes a label has to starve for before it is reported.
+     */
+    private int starvationMinutes = 10;
+
+    private transient volatile RecipientIndex index = RecipientIndex.EMPTY;
+
+    public MailWatcherConfiguration() {
+
+        load();
+        index = RecipientIndex.compile(getRules());
+    }
+
+    public static @NonNull MailWatcherConfiguration get() {
+
+        return ExtensionList.lookupSingleton(MailWatcherConfiguration.class);
+    }
+
+    public int getGlobalRateLimit() {
+
+        return globalRateLimit;
+    }
+
+    @DataBoundSetter
+    public void setGlobalRateLimit(final int globalRateLimit) {
+
+        this.globalRateLimit = Math.max(0, globalRateLimit);
+    }
+
+    public int getDomainRateLimit() {
+
+        return domainRateLimit;
+    }
+
+    @DataBoundSetter
+    public void setDomainRateLimit(final int domainRateLimit) {
+
+        this.domainRateLimit = Math.max(0, domainRateLimit);
+    }
+
+    public int getMaxRecipients() {
+
+        return maxRecipients;
+    }
+
+    @DataBoundSetter
+    public void setMaxRecipients(final int maxRecipients) {
+
+        this.maxRecipients = Math.max(0, maxRecipients);
+    }
+
+    public int getNodeEventWindow() {
+
+        return nodeEventWindow;
+    }
+
+    @DataBoundSetter
+    public void setNodeEventWindow(final int nodeEventWindow) {
+
+        this.nodeEventWindow = Math.max(0, nodeEventWindow);
+    }
+
+    public int getOfflineDigestMinutes() {
+
+        return offlineDigestMinutes;
+    }
+
+    @DataBoundSetter
+    public void setOfflineDigestMinutes(final int offlineDigestMinutes) {
+
+        this.offlineDigestMinutes = Math.max(0, offlineDigestMinutes);
+    }
+
+    public @NonNull List<WatcherRule> getRules() {
+
+        return rules == null
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(rules)
+        ;
+    }
+
+    @DataBoundSetter
+    public void setRules(final List<WatcherRule> rules) {
+
+        this.rules = rules == null ? new ArrayList<>() : new ArrayList<>(rules);
+        this.index = RecipientIndex.compile(this.rules);
+    }
+
+    public int getBuildLogLines() {
+
+        return buildLogLines;
+    }
+
+    @DataBoundSetter
+    public void setBuildLogLines(final int buildLogLines) {
+
+        this.buildLogLines = Math.max(0, buildLogLines);
+    }
+
+    public boolean isInlineConfigDiff() {
+
+        return inlineConfigDiff;
+    }
+
+    @DataBoundSetter
+    public void setInlineConfigDiff(final boolean inlineConfigDiff) {
+
+        this.inlineConfigDiff = inlineConfigDiff;
+    }
+
+    public int getConfigDiffLimit() {
+
+        return configDiffLimit;
+    }
+
+    @DataBoundSetter
+    public void setConfigDiffLimit(final int configDiffLimit) {
+
+        this.configDiffLimit = Math.max(0, configDiffLimit);
+    }
+
+    public boolean isHtmlMail() {
+
+        return htmlMail;
+    }
+
+    @DataBoundSetter
+    public void setHtmlMail(final boolean htmlMail) {
+
+        this.htmlMail = htmlMail;
+    }
+
+    public int getRecipientCacheTtl() {
+
+        return recipientCacheTtl;
+    }
+
+    @DataBoundSetter
+    public void setRecipientCacheTtl(final int recipientCacheTtl) {
+
+        this.recipientCacheTtl = Math.max(0, recipientCacheTtl);
+    }
+
+    public int getDuplicateWindow() {
+
+        return duplicateWindow;
+    }
+
+    @DataBoundSetter
+    public void setDuplicateWindow(final int duplicateWindow) {
+
+        this.duplicateWindow = Math.max(0, duplicateWindow);
+    }
+
+    public String getGlobalConfigAddresses() {
+
+        return globalConfigAddresses;
+    }
+
+    @DataBoundSetter
+    public void setGlobalConfigAddresses(final String globalConfigAddresses) {
+
+        this.globalConfigAddresses = Util.fixEmptyAndTrim(globalConfigAddresses);
+    }
+
+    public String getWatchedGlobalFiles() {
+
+        return watchedGlobalFiles;
+    }
+
+    @DataBoundSetter
+    public void setWatchedGlobalFiles(final String watchedGlobalFiles) {
+
+        this.watchedGlobalFiles = Util.fixEmptyAndTrim(watchedGlobalFiles);
+    }
+
+    public int getHistoryRetentionDays() {
+
+        return historyRetentionDays;
+    }
+
+    @DataBoundSetter
+    public void setHistoryRetentionDays(final int historyRetentionDays) {
+
+        this.historyRetentionDays = Math.max(0, historyRetentionDays);
+    }
+
+    public boolean isDryRun() {
+
+        return dryRun;
+    }
+
+    @DataBoundSetter
+    public void setDryRun(final boolean dryRun) {
+
+        this.dryRun = dryRun;
+    }
+
+    public String getWebhookUrl() {
+
+        return webhookUrl;
+    }
+
+    @DataBoundSetter
+    public void setWebhookUrl(final String webhookUrl) {
+
+        this.webhookUrl = Util.fixEmptyAndTrim(webhookUrl);
+    }
+
+    public String getSpoolDirectory() {
+
+        return spoolDirectory;
+    }
+
+    @DataBoundSetter
+    public void setSpoolDirectory(final String spoolDirectory) {
+
+        this.spoolDirectory = Util.fixEmptyAndTrim(spoolDirectory);
+    }
+
+    public String getAvailabilityReportAddresses() {
+
+        return availabilityReportAddresses;
+    }
+
+    @DataBoundSetter
+    public void setAvailabilityReportAddresses(final String availabilityReportAddresses) {
+
+        this.availabilityReportAddresses = Util.fixEmptyAndTrim(availabilityReportAddresses);
+    }
+
+    public String getStarvationAddresses() {
+
+        return starvationAddresses;
+    }
+
+    @DataBoundSetter
+    public void setStarvationAddresses(final String starvationAddresses) {
+
+        this.starvationAddresses = Util.fixEmptyAndTrim(starvationAddresses);
+    }
+
+    public int getStarvationQueueLength() {
+
+        return starvationQueueLength;
+    }
+
+    @DataBoundSetter
+    public void setStarvationQueueLength(final int starvationQueueLength) {
+
+        this.starvationQueueLength = Math.max(0, starvationQueueLength);
+    }
+
+    public int getStarvationMinutes() {
+
+        return starvationMinutes;
+    }
+
+    @DataBoundSetter
+    public void setStarvationMinutes(final int starvationMinutes) {
+
+        this.starvationMinutes = Math.max(0, starvationMinutes);
+    }
+
+    /*package*/ @NonNull RecipientIndex getIndex() {
+
+        return index;
+    }
+
+    @Override
+    public boolean configure(
+            final StaplerRequest2 req, final JSONObject json
+    ) throws FormException {
+
+        // Not bound when all rules are removed
+        setRules(null);
+        req.bindJSON(this, json);
+        save();
+        return true;
+    }
+
+    @POST
+    public FormValidation doCheckGlobalConfigAddresses(@QueryParameter String value) {
+
+        if (Util.fixEmptyAndTrim(value) == null) return FormValidation.ok();
+
+        return MailWatcherMailer.validateMailAddresses(value, null, Jenkins.ADMINISTER);
+    }
+
+    @POST
+    public FormValidation doCheckAvailabilityReportAddresses(@QueryParameter String value) {
+
+        if (Util.fixEmptyAndTrim(value) == null) return FormValidation.ok();
+
+        return MailWatcherMailer.validateMailAddresses(value, null, Jenkins.ADMINISTER);
+    }
+
+    @POST
+    public FormValidation doCheckStarvationAddresses(@QueryParameter String value) {
+
+        if (Util.fixEmptyAndTrim(value) == null) return FormValidation.ok();
+
+        return MailWatcherMailer.validateMailAddresses(value, null, Jenkins.ADMINISTER);
+    }
+
+    public FormValidation doCheckWebhookUrl(@QueryParameter String value) {
+
+        final String url = Util.fixEmptyAndTrim(value);
+        if (url == null) return FormValidation.ok();
+
+        try {
+
+            final URI uri = new URI(url);
+            if (!"http".equals(uri.getScheme()) && !"https".equals(uri.getScheme())) {
+                return FormValidation.error("Only http and https URLs are supported");
+            }
+        } catch (URISyntaxException ex) {
+
+            return FormValidation.error("Invalid URL: " + ex.getMessage());
+        }
+
+        return FormValidation.ok();
+    }
+
+    public FormValidation doCheckGlobalRateLimit(@QueryParameter int value) {
+
+        return validateRate(value);
+    }
+
+    public FormValidation doCheckDomainRateLimit(@QueryParameter int value) {
+
+        return validateRate(value);
+    }
+
+    private static FormValidation validateRate(final int value) {
+
+        if (value < 0) return FormValidation.error("Rate can not be negative");
+        if (value == 0) return FormValidation.ok("Unlimited");
+
+        return FormValidation.ok();
+    }
+
+    @Override @NonNull
+    public String getDisplayName() {
+
+        return "Mail Watcher";
+    }
+}
@@ -25,15 +25,36 @@ package org.jenkinsci.plugins.mailwatcher;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.XmlFile;
+import hudson.model.Saveable;
 import hudson.model.User;
+import hudson.model.listeners.SaveableListener;
 import hudson.plugins.jobConfigHistory.JobConfigHistory;
+import hudson.security.ACL;
+import hudson.security.AccessControlled;
+import hudson.security.Permission;
 import hudson.tasks.Mailer;
 import hudson.util.FormValidation;
 
-import java.net.MalformedURLException;
-import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Date;
-
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.mail.Address;
 import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
 import jakarta.mail.Transport;
@@ -56,13 +77,13 @@ import org.kohsuke.accmod.restrictions.NoExternalUse;
  */
 public class MailWatcherMailer {
 
+    private static final Logger LOGGER = Logger.getLogger(MailWatcherMailer.class.getName());
+
     private final @NonNull Mailer.DescriptorImpl mailerDescriptor;
-    private final @NonNull Jenkins jenkins;
     private final @NonNull ConfigHistory configHistory;
 
     /*package*/ MailWatcherMailer(final @NonNull Jenkins jenkins) {
 
-        this.jenkins = jenkins;
         this.mailerDescriptor = jenkins.getDescriptorByType(Mailer.DescriptorImpl.class);
         var p = jenkins.pluginManager.getPlugin("jobConfigHistory");
         this.configHistory = new ConfigHistory(p != null && p.isActive() ? plugin(JobConfigHistory.class) : null);
@@ -83,15 +104,30 @@ public class MailWatcherMailer {
         return GlobalConfiguration.all().get(clazz);
     }
 
-    /*package*/ @NonNull URL absoluteUrl(final @NonNull String url) {
+    /*package*/ @CheckForNull MailWatcherConfiguration configuration() {
 
-        try {
+        return plugin(MailWatcherConfiguration.class);
+    }
 
-            return new URL(jenkins.getRootUrl() + url);
-        } catch (MalformedURLException ex) {
+    /**
+     * Jenkins root URL, null if not known.
+     */
+    /*package*/ @CheckForNull String rootUrl() {
 
-            throw new AssertionError(ex);
+        final LocationChanges location = LocationChanges.getOrNull();
+        if (location == null) {
+
+            final Jenkins jenkins = Jenkins.getInstanceOrNull();
+            return jenkins == null ? null : jenkins.getRootUrl();
         }
+
+        return location.rootUrl();
+    }
+
+    /*package*/ @NonNull String absoluteUrl(final @NonNull String url) {
+
+        final String root = rootUrl();
+        return (root == null ? "/" : root) + url;
     }
 
     /*package*/ @NonNull ConfigHistory configHistory() {
@@ -110,12 +146,271 @@ public class MailWatcherMailer {
 
         if (!notification.shouldNotify()) return null;
 
-        final InternetAddress[] recipients = InternetAddress.parse(
-                notification.getRecipients()
-        );
+        final RecipientResolver resolver = resolver();
+        final RecipientResolver.Split split = resolver == null
+                ? new RecipientResolver.Split(notification.getRecipients(), "")
+                : resolver.split(notification.getRecipients())
+        ;
+        final InternetAddress[] visible = InternetAddress.parse(split.visible());
+        final String hiddenAddresses = mergeAddresses(split.hidden(), notification.getHiddenRecipients());
+        final InternetAddress[] hidden = InternetAddress.parse(hiddenAddresses == null ? "" : hiddenAddresses);
+        final Address[] recipients = concat(visible, hidden);
 
         if (recipients.length == 0) return null;
 
+        final String subject = notification.getMailSubject();
+        final MailWatcherConfiguration config = configuration();
+
+        final Long fingerprint = fingerprint(notification, subject, config);
+        if (fingerprint != null && config != null && !duplicates().admit(
+                fingerprint, TimeUnit.SECONDS.toNanos(config.getDuplicateWindow()), System.nanoTime()
+        )) {
+
+            LOGGER.log(Level.FINE, "Dropping duplicate notification: {0}", subject);
+            return null;
+        }
+
+        final MessageContent content = notification.getMailContent(config != null && config.isHtmlMail());
+
+        // Addresses of users and group members are not revealed to the others
+        final List<MimeMessage> messages = new ArrayList<>();
+        for (final Address[] envelope: visible.length == 0 ? Collections.<Address[]>emptyList() : envelopes(visible, config)) {
+
+            final MimeMessage msg = createMessage(envelope, null, subject);
+            content.fill(msg);
+            messages.add(msg);
+        }
+        for (final Address[] envelope: hidden.length == 0 ? Collections.<Address[]>emptyList() : envelopes(hidden, config)) {
+
+            final MimeMessage msg = createMessage(null, envelope, subject);
+            content.fill(msg);
+            messages.add(msg);
+        }
+
+        final List<String> statuses;
+        try {
+
+            if (messages.size() == 1) {
+
+                statuses = Collections.singletonList(
+                        deliver(notification, messages.get(0), subject, content.getText())
+                );
+            } else {
+
+                statuses = deliverAll(notification, messages, subject, content.getText());
+            }
+        } catch (MessagingException ex) {
+
+            // Nothing was delivered, let the retry through
+            if (fingerprint != null) duplicates().forget(fingerprint);
+
+            record(notification, subject, recipients, "FAILED");
+            throw ex;
+        }
+
+        record(notification, subject, messages, statuses);
+        return messages.get(0);
+    }
+
+    private @NonNull String sentStatus() {
+
+        return dryRun() == null ? "SENT" : "DRY_RUN";
+    }
+
+    /**
+     * Record recipients of the envelopes grouped by how their delivery ended.
+     */
+    private void record(
+            final @NonNull MailWatcherNotification notification,
+            final @NonNull String subject,
+            final @NonNull List<MimeMessage> messages,
+            final @NonNull List<String> statuses
+    ) throws MessagingException {
+
+        final Map<String, List<Address>> byStatus = new LinkedHashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+
+            byStatus.computeIfAbsent(statuses.get(i), s -> new ArrayList<>())
+                    .addAll(Arrays.asList(messages.get(i).getAllRecipients()))
+            ;
+        }
+
+        for (final Map.Entry<String, List<Address>> entry: byStatus.entrySet()) {
+
+            record(notification, subject, entry.getValue().toArray(new Address[0]), entry.getKey());
+        }
+    }
+
+    private void record(
+            final @NonNull MailWatcherNotification notification,
+            final @NonNull String subject,
+            final @NonNull Address[] recipients,
+            final @NonNull String status
+    ) {
+
+        record(notification.getName(), subject, recipients, status);
+    }
+
+    private void record(
+            final @NonNull String name,
+            final @NonNull String subject,
+            final @NonNull Address[] recipients,
+            final @NonNull String status
+    ) {
+
+        final NotificationHistory history = history();
+        if (history == null) return;
+
+        history.record(new NotificationHistory.Record(
+                System.currentTimeMillis(), name, subject, InternetAddress.toString(recipients), status
+        ));
+    }
+
+    /**
+     * Fingerprint to filter duplicates by.
+     *
+     * @return null when duplicates are not filtered.
+     */
+    private @CheckForNull Long fingerprint(
+            final @NonNull MailWatcherNotification notification,
+            final @NonNull String subject,
+            final @CheckForNull MailWatcherConfiguration config
+    ) {
+
+        if (config == null || config.getDuplicateWindow() <= 0) return null;
+
+        final String revision = notification.getRevision();
+        if (revision == null) return null;
+
+        return DuplicateFilter.fingerprint(
+                subject, mergeAddresses(notification.getRecipients(), notification.getHiddenRecipients()), revision
+        );
+    }
+
+    /**
+     * Split recipients into envelopes.
+     * <p>
+     * When recipient domains are rate limited, every domain gets its own envelope
+     * so the domain over the limit does not hold back the others. Envelopes are
+     * then split so none has more recipients than the relay accepts.
+     */
+    /*package*/ static @NonNull List<Address[]> envelopes(
+            final @NonNull Address[] recipients, final @CheckForNull MailWatcherConfiguration config
+    ) {
+
+        if (config == null) return Collections.singletonList(recipients);
+
+        final Collection<List<Address>> groups;
+        if (config.getDomainRateLimit() <= 0) {
+
+            groups = Collections.singletonList(Arrays.asList(recipients));
+        } else {
+
+            final Map<String, List<Address>> byDomain = new LinkedHashMap<>();
+            for (final Address address: recipients) {
+
+                final String domain = MailThrottle.domain(address);
+                byDomain.computeIfAbsent(domain == null ? "" : domain, d -> new ArrayList<>()).add(address);
+            }
+            groups = byDomain.values();
+        }
+
+        final int limit = config.getMaxRecipients() > 0
+                ? config.getMaxRecipients()
+                : Integer.MAX_VALUE
+        ;
+
+        final List<Address[]> envelopes = new ArrayList<>();
+        for (final List<Address> addresses: groups) {
+
+            for (int from = 0; from < addresses.size(); from += limit) {
+
+                final int to = (int) Math.min(addresses.size(), (long) from + limit);
+                envelopes.add(addresses.subList(from, to).toArray(new Address[0]));
+            }
+        }
+
+        return envelopes;
+    }
+
+    /**
+     * Deliver envelopes concurrently, failure of one does not prevent delivery of the others.
+     *
+     * @return Status of every envelope, FAILED for those not delivered.
+     * @throws MessagingException when none of the envelopes was delivered.
+     */
+    private @NonNull List<String> deliverAll(
+            final @NonNull MailWatcherNotification notification,
+            final @NonNull List<MimeMessage> messages,
+            final @NonNull String subject,
+            final @NonNull String text
+    ) throws MessagingException {
+
+        final SmtpPool smtp = smtp();
+        final List<Future<String>> futures = new ArrayList<>(messages.size());
+        for (final MimeMessage msg: messages) {
+
+            final Callable<String> delivery = () -> deliver(notification, msg, subject, text);
+            futures.add(smtp == null ? run(delivery) : smtp.executor().submit(delivery));
+        }
+
+        final List<String> statuses = new ArrayList<>(futures.size());
+        MessagingException failure = null;
+        int failed = 0;
+        for (int i = 0; i < futures.size(); i++) {
+
+            try {
+
+                statuses.add(futures.get(i).get());
+            } catch (InterruptedException ex) {
+
+                Thread.currentThread().interrupt();
+                throw new MessagingException("Interrupted delivering " + subject, ex);
+            } catch (ExecutionException ex) {
+
+                failed++;
+                statuses.add("FAILED");
+                final Throwable cause = ex.getCause();
+                LOGGER.log(Level.WARNING, String.format(
+                        "Unable to deliver %s to %s",
+                        subject, Arrays.toString(messages.get(i).getAllRecipients())
+                ), cause);
+
+                if (failure == null) {
+                    failure = cause instanceof MessagingException
+                            ? (MessagingException) cause
+                            : new MessagingException("Unable to deliver " + subject, new Exception(cause))
+                    ;
+                }
+            }
+        }
+
+        if (failed == futures.size()) throw failure;
+
+        return statuses;
+    }
+
+    /**
+     * Deliver on the calling thread when there is no pool to deliver on.
+     */
+    private static @NonNull Future<String> run(final @NonNull Callable<String> delivery) {
+
+        final FutureTask<String> task = new FutureTask<>(delivery);
+        task.run();
+        return task;
+    }
+
+    private static @NonNull Address[] concat(final @NonNull Address[] first, final @NonNull Address[] second) {
+
+        final Address[] all = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, all, first.length, second.length);
+        return all;
+    }
+
+    private @NonNull MimeMessage createMessage(
+            final @CheckForNull Address[] recipients, final @CheckForNull Address[] blindRecipients, final @NonNull String subject
+    ) throws MessagingException {
+
         final MimeMessage msg = new MimeMessage(mailerDescriptor.createSession());
         final JenkinsLocationConfiguration jenkinsLocationConfiguration = JenkinsLocationConfiguration.get();
         msg.setFrom(new InternetAddress(jenkinsLocationConfiguration.getAdminAddress()));
@@ -125,18 +420,180 @@ public class MailWatcherMailer {
         }
 
         msg.setSentDate(new Date());
-        msg.setSubject(notification.getMailSubject());
-        msg.setText(notification.getMailBody());
-        msg.setRecipients(Message.RecipientType.TO, recipients);
-
-        send(msg);
+        msg.setSubject(subject);
+        if (recipients != null) msg.setRecipients(Message.RecipientType.TO, recipients);
+        if (blindRecipients != null) msg.setRecipients(Message.RecipientType.BCC, blindRecipients);
 
         return msg;
     }
 
+    /**
+     * Send now or hold the message back when over the rate limit.
+     *
+     * @return Status to record, DEFERRED when held back until the rate limit admits it.
+     */
+    private @NonNull String deliver(
+            final @NonNull MailWatcherNotification notification,
+            final @NonNull MimeMessage msg,
+            final @NonNull String subject,
+            final @NonNull String text
+    ) throws MessagingException {
+
+        // Dry run measures the load the rate limit would be applied to
+        final MailThrottle throttle = throttle();
+        if (dryRun() != null || throttle.admit(msg.getAllRecipients())) {
+
+            send(msg);
+            return sentStatus();
+        }
+
+        LOGGER.log(Level.FINE, "Rate limit reached, deferring: {0}", subject);
+        throttle.defer(new MailThrottle.Deferred(this, notification.getName(), msg, subject, text));
+        return "DEFERRED";
+    }
+
+    /**
+     * Send messages held back for the same recipients, folded into a digest if there are more of them.
+     */
+    /*package*/ void sendDeferred(final @NonNull MailThrottle.Group group) throws MessagingException {
+
+        try {
+
+            send(group.size() == 1 ? group.entries.get(0).message : digest(group));
+        } catch (MessagingException ex) {
+
+            recordDeferred(group, "FAILED");
+            throw ex;
+        }
+
+        recordDeferred(group, "SENT");
+    }
+
+    private void recordDeferred(final @NonNull MailThrottle.Group group, final @NonNull String status) {
+
+        // Omitted ones stay recorded as deferred
+        for (final MailThrottle.Deferred deferred: group.entries) {
+
+            record(deferred.name, deferred.subject, deferred.recipients, status);
+        }
+    }
+
+    private @NonNull MimeMessage digest(
+            final @NonNull MailThrottle.Group group
+    ) throws MessagingException {
+
+        final String subject = String.format(
+                "%s%d notifications held back by rate limit",
+                MailWatcherNotification.MAIL_WATCHER_PLUGIN, group.size()
+        );
+
+        final StringBuilder body = new StringBuilder();
+        for (final MailThrottle.Deferred deferred: group.entries) {
+
+            body.append("=== ").append(deferred.subject).append("\n")
+                    .append(deferred.text).append("\n\n")
+            ;
+        }
+
+        if (group.omitted > 0) {
+
+            body.append("* ").append(group.omitted)
+                    .append(" more notifications omitted, they are listed in the history as deferred\n")
+            ;
+        }
+
+        // Same envelope as the messages it replaces
+        final MimeMessage head = group.entries.get(0).message;
+        final MimeMessage digest = createMessage(
+                head.getRecipients(Message.RecipientType.TO), head.getRecipients(Message.RecipientType.BCC), subject
+        );
+        digest.setText(body.toString());
+
+        return digest;
+    }
+
+    /*package*/ @CheckForNull RecipientResolver resolver() {
+
+        return RecipientResolver.getOrNull();
+    }
+
+    /*package*/ @CheckForNull EffectiveRecipients effectiveRecipients() {
+
+        return EffectiveRecipients.getOrNull();
+    }
+
+    /**
+     * Delivery channels to dispatch notifications through, null to send mail right away.
+     */
+    /*package*/ @CheckForNull DeliveryChannels channels() {
+
+        return DeliveryChannels.getOrNull();
+    }
+
+    /*package*/ @CheckForNull NotificationHistory history() {
+
+        return NotificationHistory.getOrNull();
+    }
+
+    /*package*/ @NonNull DuplicateFilter duplicates() {
+
+        return DuplicateFilter.get();
+    }
+
+    /*package*/ @NonNull MailThrottle throttle() {
+
+        return MailThrottle.get();
+    }
+
     @Restricted(NoExternalUse.class)
     /*package*/ void send(final MimeMessage msg) throws MessagingException {
-        Transport.send(msg);
+        final DryRunSink sink = dryRun();
+        if (sink != null) {
+            sink.accept(msg);
+            return;
+        }
+
+        final SmtpPool smtp = smtp();
+        if (smtp == null) {
+
+            Transport.send(msg);
+            return;
+        }
+
+        smtp.send(mailerDescriptor.createSession(), msg);
+    }
+
+    /*package*/ @CheckForNull SmtpPool smtp() {
+
+        return SmtpPool.getOrNull();
+    }
+
+    /**
+     * Sink recording messages instead of sending them, null when messages are sent.
+     */
+    /*package*/ @CheckForNull DryRunSink dryRun() {
+
+        final MailWatcherConfiguration config = configuration();
+        return config != null && config.isDryRun() ? DryRunSink.get() : null;
+    }
+
+    /**
+     * Join address lists skipping those not provided.
+     *
+     * @return Joined list or null if all lists are empty.
+     */
+    public static @CheckForNull String mergeAddresses(final String... lists) {
+
+        final StringBuilder merged = new StringBuilder();
+        for (final String list: lists) {
+
+            if (list == null || list.trim().isEmpty()) continue;
+
+            if (merged.length() > 0) merged.append(", ");
+            merged.append(list.trim());
+        }
+
+        return merged.length() == 0 ? null : merged.toString();
     }
 
     /**
@@ -149,13 +606,66 @@ public class MailWatcherMailer {
             final String addressesCandidate
     ) {
 
+        return validateMailAddresses(addressesCandidate, (RecipientResolver) null);
+    }
+
+    /**
+     * Validate list of email addresses configured on behalf of the current user.
+     *
+     * User IDs and groups are accepted only when the user is authenticated and
+     * allowed to configure the recipients, so the validation does not reveal who
+     * exists in the security realm to anybody else.
+     *
+     * @param addressesCandidate String representing list of addresses
+     * @param context Object the addresses are configured on, Jenkins when null
+     * @param permission Permission needed to configure the addresses
+     * @return FormValidation representing state of validation
+     */
+    public static FormValidation validateMailAddresses(
+            final String addressesCandidate,
+            final @CheckForNull AccessControlled context,
+            final @NonNull Permission permission
+    ) {
+
+        final Jenkins jenkins = Jenkins.getInstanceOrNull();
+        if (jenkins == null) return validateMailAddresses(addressesCandidate);
+
+        final AccessControlled target = context == null ? jenkins : context;
+        if (!target.hasPermission(permission)) return FormValidation.ok();
+
+        final RecipientResolver resolver = ACL.isAnonymous2(Jenkins.getAuthentication2())
+                ? null
+                : RecipientResolver.get()
+        ;
+        return validateMailAddresses(addressesCandidate, resolver);
+    }
+
+    private static FormValidation validateMailAddresses(
+            final String addressesCandidate, final @CheckForNull RecipientResolver resolver
+    ) {
+
+        // User IDs and groups Jenkins knows are fine
+        final StringBuilder rawAddresses = new StringBuilder();
+        int references = 0;
+        for (final String token: RecipientResolver.tokenize(addressesCandidate)) {
+
+            if (resolver != null && RecipientResolver.isReference(token) && resolver.isResolvable(token)) {
+
+                references++;
+                continue;
+            }
+
+            if (rawAddresses.length() > 0) rawAddresses.append(", ");
+            rawAddresses.append(token);
+        }
+
         try {
 
             final InternetAddress[] addresses = InternetAddress.parse(
-                    addressesCandidate, false
+                    rawAddresses.toString(), false
              );
 
-            if (addresses.length == 0) {
+            if (addresses.length == 0 && references == 0) {
 
                 return FormValidation.warning("Empty address list provided");
             }
@@ -185,4 +695,50 @@ public class MailWatcherMailer {
 
         return FormValidation.ok();
     }
+
+    private static final class RootUrl {
+
+        private final @CheckForNull String url;
+
+        private RootUrl(final @CheckForNull String url) {
+
+            this.url = url == null || url.endsWith("/") ? url : url + "/";
+        }
+    }
+
+    /**
+     * Keep the configured root URL, resolved once and updated when reconfigured.
+     */
+    @Extension
+    public static class LocationChanges extends SaveableListener {
+
+        private volatile RootUrl cached;
+
+        /*package*/ static @CheckForNull LocationChanges getOrNull() {
+
+            return Jenkins.getInstanceOrNull() == null ? null : ExtensionList.lookupSingleton(LocationChanges.class);
+        }
+
+        /*package*/ @CheckForNull String rootUrl() {
+
+            RootUrl root = cached;
+            if (root == null) {
+
+                root = new RootUrl(JenkinsLocationConfiguration.get().getUrl());
+                cached = root;
+            }
+
+            // Not configured, Jenkins guesses it from the current request if there is one
+            return root.url != null ? root.url : Jenkins.get().getRootUrl();
+        }
+
+        @Override
+        public void onChange(final Saveable o, final XmlFile file) {
+
+            if (o instanceof JenkinsLocationConfiguration) {
+
+                cached = new RootUrl(((JenkinsLocationConfiguration) o).getUrl());
+            }
+        }
+    }
 }
@@ -23,10 +23,13 @@
  */
 package org.jenkinsci.plugins.mailwatcher;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Util;
 import hudson.model.User;
 
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -46,11 +49,12 @@ public abstract class MailWatcherNotification {
             MailWatcherNotification.class.getName()
     );
 
-    private static final String MAIL_WATCHER_PLUGIN = "mail-watcher-plugin: ";
+    /*package*/ static final String MAIL_WATCHER_PLUGIN = "mail-watcher-plugin: ";
 
     final private String subject;
     final private String body;
     final private String recipients;
+    final private String hiddenRecipients;
 
     final private String url;
     final private String resourceName;
@@ -65,6 +69,7 @@ public abstract class MailWatcherNotification {
         this.subject = builder.subject;
         this.body = builder.body;
         this.recipients = builder.recipients;
+        this.hiddenRecipients = null;
 
         this.url = builder.url;
         this.resourceName = builder.resourceName;
@@ -75,6 +80,24 @@ public abstract class MailWatcherNotification {
         this.mailer = builder.mailer;
     }
 
+    private MailWatcherNotification(
+            final @NonNull MailWatcherNotification source, final @NonNull RecipientResolver.Split recipients
+    ) {
+
+        this.subject = source.subject;
+        this.body = source.body;
+        this.recipients = recipients.visible();
+        this.hiddenRecipients = recipients.hidden();
+
+        this.url = source.url;
+        this.resourceName = source.resourceName;
+        this.initiator = source.initiator;
+
+        this.jenkinsRootUrl = source.jenkinsRootUrl;
+
+        this.mailer = source.mailer;
+    }
+
     protected String getSubject() {
 
         return subject;
@@ -90,6 +113,14 @@ public abstract class MailWatcherNotification {
         return recipients;
     }
 
+    /**
+     * Addresses resolved from user IDs and groups, to be sent blind copies.
+     */
+    /*package*/ @CheckForNull String getHiddenRecipients() {
+
+        return hiddenRecipients;
+    }
+
     public String getUrl() {
 
         return url;
@@ -100,7 +131,7 @@ public abstract class MailWatcherNotification {
         return resourceName;
     }
 
-    private String getArtefactUrl() {
+    /*package*/ String getArtefactUrl() {
 
         return jenkinsRootUrl + this.getUrl();
     }
@@ -110,6 +141,17 @@ public abstract class MailWatcherNotification {
         return initiator;
     }
 
+    /**
+     * Revision of the watched entity the notification describes.
+     * <p>
+     * Notifications with the same subject, recipients and revision are considered
+     * duplicates, null when the notification should never be considered a duplicate.
+     */
+    protected @CheckForNull String getRevision() {
+
+        return null;
+    }
+
     protected boolean shouldNotify() {
 
         return recipients != null;
@@ -122,19 +164,115 @@ public abstract class MailWatcherNotification {
 
     public final String getMailBody() {
 
-        final StringBuilder body = new StringBuilder();
+        return text(pairs(), this.getBody());
+    }
+
+    /**
+     * Compose the content once, for all envelopes.
+     */
+    /*package*/ final @NonNull MessageContent getMailContent(final boolean html) throws MessagingException {
+
+        final Map<String, String> pairs = pairs();
+        final String body = this.getBody();
 
+        return html
+                ? MessageContent.alternative(text(pairs, body), html(pairs, body))
+                : MessageContent.text(text(pairs, body))
+        ;
+    }
+
+    /**
+     * Notification as JSON object for channels other than mail.
+     */
+    /*package*/ final @NonNull String getJson() {
+
+        final StringBuilder json = new StringBuilder("{");
+        json.append("\"name\":").append(quote(this.getName()));
+        json.append(",\"subject\":").append(quote(this.getMailSubject()));
+        json.append(",\"recipients\":").append(quote(MailWatcherMailer.mergeAddresses(
+                this.getRecipients(), this.getHiddenRecipients()
+        )));
+        json.append(",\"url\":").append(quote(this.getArtefactUrl()));
+
+        json.append(",\"fields\":{");
+        String separator = "";
         for (final Map.Entry<String, String> pair: pairs().entrySet()) {
 
-            body.append(pair(pair.getKey(), pair.getValue()));
+            json.append(separator).append(quote(pair.getKey())).append(':').append(quote(pair.getValue()));
+            separator = ",";
         }
+        json.append('}');
 
-        return body.append("\n\n")
-            .append(this.getBody())
+        return json.append(",\"body\":").append(quote(this.getBody())).append('}').toString();
+    }
+
+    private static @NonNull String quote(final @CheckForNull String value) {
+
+        if (value == null) return "null";
+
+        final StringBuilder quoted = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+
+            final char c = value.charAt(i);
+            switch (c) {
+                case '"': quoted.append("\\\""); break;
+                case '\\': quoted.append("\\\\"); break;
+                case '\n': quoted.append("\\n"); break;
+                case '\r': quoted.append("\\r"); break;
+                case '\t': quoted.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        quoted.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        quoted.append(c);
+                    }
+            }
+        }
+        return quoted.append('"').toString();
+    }
+
+    private String text(final Map<String, String> pairs, final String body) {
+
+        final StringBuilder text = new StringBuilder();
+
+        for (final Map.Entry<String, String> pair: pairs.entrySet()) {
+
+            text.append(pair(pair.getKey(), pair.getValue()));
+        }
+
+        return text.append("\n\n")
+            .append(body)
             .toString()
         ;
     }
 
+    private String html(final Map<String, String> pairs, final String body) {
+
+        final StringBuilder html = new StringBuilder("<html><body>\n<table>\n");
+
+        for (final Map.Entry<String, String> pair: pairs.entrySet()) {
+
+            final String value = pair.getValue() == null ? "" : pair.getValue();
+            html.append("<tr><th align=\"left\">").append(Util.xmlEscape(pair.getKey())).append("</th><td>");
+            if (value.startsWith("http://") || value.startsWith("https://")) {
+
+                html.append("<a href=\"").append(Util.escape(value)).append("\">")
+                        .append(Util.xmlEscape(value)).append("</a>")
+                ;
+            } else {
+
+                html.append(Util.xmlEscape(value));
+            }
+            html.append("</td></tr>\n");
+        }
+
+        return html.append("</table>\n<pre>")
+                .append(Util.xmlEscape(body == null ? "" : body))
+                .append("</pre>\n</body></html>\n")
+                .toString()
+        ;
+    }
+
     protected @NonNull Map<String, String> pairs() {
 
         final Map<String, String> pairs = new HashMap<>(2);
@@ -149,8 +287,23 @@ public abstract class MailWatcherNotification {
         return String.format("%s: %s%n", key, value);
     }
 
+    /**
+     * Hand the notification over to delivery channels, or send the mail right away when there are none.
+     */
     public final void send() {
 
+        final DeliveryChannels channels = mailer.channels();
+        if (channels != null) {
+
+            if (shouldNotify()) channels.dispatch(new Resolved(this));
+            return;
+        }
+
+        sendMail();
+    }
+
+    /*package*/ final void sendMail() {
+
         try {
 
             final MimeMessage msg = mailer.send(this);
@@ -177,6 +330,66 @@ public abstract class MailWatcherNotification {
         LOGGER.log(Level.INFO, state, ex);
     }
 
+    /**
+     * Content of the notification computed on the thread it was sent from.
+     * <p>
+     * Channel workers only deliver it, they neither read the Jenkins state the
+     * content is made of, as they do not run as the user who triggered it, nor
+     * describe the state it has by the time they get to it.
+     */
+    private static final class Resolved extends MailWatcherNotification {
+
+        private final String subject;
+        private final String body;
+        private final @NonNull Map<String, String> pairs;
+        private final @CheckForNull String revision;
+
+        private Resolved(final @NonNull MailWatcherNotification source) {
+
+            super(source, recipients(source));
+
+            this.subject = source.getSubject();
+            this.body = source.getBody();
+            this.pairs = new LinkedHashMap<>(source.pairs());
+            this.revision = source.getRevision();
+        }
+
+        private static @NonNull RecipientResolver.Split recipients(final @NonNull MailWatcherNotification source) {
+
+            final RecipientResolver resolver = source.mailer.resolver();
+            final String recipients = source.getRecipients();
+            // Sent only with recipients
+            return resolver == null
+                    ? new RecipientResolver.Split(recipients, "")
+                    : resolver.split(recipients)
+            ;
+        }
+
+        @Override
+        protected String getSubject() {
+
+            return subject;
+        }
+
+        @Override
+        protected String getBody() {
+
+            return body;
+        }
+
+        @Override
+        protected @NonNull Map<String, String> pairs() {
+
+            return new LinkedHashMap<>(pairs);
+        }
+
+        @Override
+        protected @CheckForNull String getRevision() {
+
+            return revision;
+        }
+    }
+
     public static abstract class Builder {
 
         final protected MailWatcherMailer mailer;
@@ -190,15 +403,23 @@ public abstract class MailWatcherNotification {
         private String resourceName = "";
         private User initiator;
 
+        /**
+         * @param jenkinsRootUrl Root URL to use, null to use the one configured.
+         */
         public Builder(final MailWatcherMailer mailer, final String jenkinsRootUrl) {
 
             this.mailer = mailer;
 
             this.initiator = mailer.getDefaultInitiator();
-            this.jenkinsRootUrl = jenkinsRootUrl == null
-                    ? "/"
+
+            final String rootUrl = jenkinsRootUrl == null
+                    ? mailer.rootUrl()
                     : jenkinsRootUrl
             ;
+            this.jenkinsRootUrl = rootUrl == null
+                    ? "/"
+                    : rootUrl
+            ;
         }
 
         public Builder subject(final String subject) {
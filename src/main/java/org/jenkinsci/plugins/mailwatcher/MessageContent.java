@@ -0,0 +1,118 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeBodyPart;
+import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
+import jakarta.mail.util.ByteArrayDataSource;
+
+/**
+ * Message content encoded once and shared by all the envelopes of a notification.
+ */
+/*package*/ final class MessageContent {
+
+    private final @NonNull String text;
+
+    // Encoded multipart/alternative, null for plain text messages
+    private final @CheckForNull byte[] multipart;
+    private final @CheckForNull String contentType;
+
+    private MessageContent(final String text, final byte[] multipart, final String contentType) {
+
+        this.text = text;
+        this.multipart = multipart;
+        this.contentType = contentType;
+    }
+
+    /*package*/ static @NonNull MessageContent text(final @NonNull String text) {
+
+        return new MessageContent(text, null, null);
+    }
+
+    /*package*/ static @NonNull MessageContent alternative(
+            final @NonNull String text, final @NonNull String html
+    ) throws MessagingException {
+
+        final MimeBodyPart textPart = new MimeBodyPart();
+        textPart.setText(text, StandardCharsets.UTF_8.name());
+        final MimeBodyPart htmlPart = new MimeBodyPart();
+        htmlPart.setText(html, StandardCharsets.UTF_8.name(), "html");
+
+        final Alternative alternative = new Alternative();
+        alternative.addBodyPart(textPart);
+        alternative.addBodyPart(htmlPart);
+
+        return new MessageContent(text, alternative.encode(), alternative.getContentType());
+    }
+
+    /*package*/ @NonNull String getText() {
+
+        return text;
+    }
+
+    /*package*/ void fill(final @NonNull MimeMessage msg) throws MessagingException {
+
+        if (multipart == null) {
+
+            msg.setText(text);
+            return;
+        }
+
+        // Parts are kept in their encoded form, nothing is encoded again
+        msg.setContent(new MimeMultipart(new ByteArrayDataSource(multipart, contentType)));
+    }
+
+    private static final class Alternative extends MimeMultipart {
+
+        private Alternative() {
+
+            super("alternative");
+        }
+
+        private byte[] encode() throws MessagingException {
+
+            updateHeaders();
+
+            final ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try {
+
+                writeTo(out);
+            } catch (IOException ex) {
+
+                throw new MessagingException("Unable to encode message", ex);
+            }
+
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Tell when a value reported by a node monitor crosses the threshold configured for the computer.
+ * <p>
+ * The alert is raised once when the value crosses the threshold and cleared
+ * only once the value is back by a tenth of the threshold, so a value
+ * oscillating around the threshold is not reported over and over.
+ */
+/*package*/ final class MonitorAlerts {
+
+    /**
+     * Values watched, in bytes or milliseconds.
+     */
+    /*package*/ enum Metric {
+        DISK_SPACE("free disk space", true),
+        TEMP_SPACE("free temp space", true),
+        CLOCK_DRIFT("clock difference", false),
+        RESPONSE_TIME("response time", false);
+
+        private final String displayName;
+        private final boolean minimum;
+
+        Metric(final String displayName, final boolean minimum) {
+
+            this.displayName = displayName;
+            this.minimum = minimum;
+        }
+
+        /*package*/ @NonNull String getDisplayName() {
+
+            return displayName;
+        }
+
+        /**
+         * @return true if the threshold is the least acceptable value, false if it is the greatest one.
+         */
+        /*package*/ boolean isMinimum() {
+
+            return minimum;
+        }
+    }
+
+    private final ConcurrentMap<String, Set<Metric>> alerting = new ConcurrentHashMap<>();
+
+    /**
+     * Evaluate the value the monitor reported for the computer.
+     *
+     * @param threshold Threshold in the units of the metric, 0 not to watch it.
+     * @return Change of the alert, null if there is none.
+     */
+    /*package*/ @CheckForNull Alert observe(
+            final @NonNull String name, final @NonNull Metric metric, final long value, final long threshold
+    ) {
+
+        final Set<Metric> metrics = alerting.computeIfAbsent(name, key -> EnumSet.noneOf(Metric.class));
+        synchronized (metrics) {
+
+            if (threshold <= 0) {
+
+                metrics.remove(metric);
+                return null;
+            }
+
+            final long margin = threshold / 10;
+            final boolean crossed = metric.minimum ? value < threshold : value > threshold;
+            final boolean back = metric.minimum ? value >= threshold + margin : value <= threshold - margin;
+
+            if (!metrics.contains(metric) && crossed) {
+
+                metrics.add(metric);
+                return new Alert(metric, false, value, threshold);
+            }
+            if (metrics.contains(metric) && back) {
+
+                metrics.remove(metric);
+                return new Alert(metric, true, value, threshold);
+            }
+        }
+
+        return null;
+    }
+
+    /*package*/ void remove(final @NonNull String name) {
+
+        alerting.remove(name);
+    }
+
+    /**
+     * @param recovered The value is back within the threshold.
+     */
+    /*package*/ record Alert(@NonNull Metric metric, boolean recovered, long value, long threshold) {}
+}
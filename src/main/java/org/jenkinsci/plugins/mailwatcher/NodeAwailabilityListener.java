@@ -56,12 +56,12 @@ public class NodeAwailabilityListener extends RunListener<Run<?, ?>> {
 
     public NodeAwailabilityListener() {
 
-        this(
-                new MailWatcherMailer(Jenkins.get()),
-                Jenkins.get().getRootUrl()
-        );
+        this(new MailWatcherMailer(Jenkins.get()), null);
     }
 
+    /**
+     * @param jenkinsRootUrl Root URL to use in notifications, null to use the one configured.
+     */
     public NodeAwailabilityListener(
             final MailWatcherMailer mailer,
             final String jenkinsRootUrl
@@ -100,7 +100,11 @@ public class NodeAwailabilityListener extends RunListener<Run<?, ?>> {
 
         if (!isIdle(computer)) return;
 
-        String address = user.getProperty(Mailer.UserProperty.class).getAddress();
+        RecipientResolver resolver = mailer.resolver();
+        String address = resolver == null
+                ? user.getProperty(Mailer.UserProperty.class).getAddress()
+                : resolver.address(user)
+        ;
 
         final String subject = "Jenkins computer '" + computer.getDisplayName() + "' you have put offline is no longer occupied";
         getNotification().subject(subject)
@@ -0,0 +1,193 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Online status of computers and their availability since the last report.
+ * <p>
+ * Every computer is assigned a slot in parallel primitive arrays, so recording
+ * a transition is a map lookup and a few array writes, and the report is
+ * computed from the table without looking at builds or logs.
+ */
+/*package*/ final class NodeStates {
+
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<Integer> free = new ArrayList<>();
+
+    // Guarded by this, indexed by id
+    private String[] names = new String[16];
+    private boolean[] offline = new boolean[16];
+    private long[] since = new long[16];
+    private String[] causes = new String[16];
+    private long[] tracked = new long[16];
+    private long[] down = new long[16];
+    private int[] outages = new int[16];
+
+    private long periodStart;
+
+    /*package*/ NodeStates(final long now) {
+
+        this.periodStart = now;
+    }
+
+    /**
+     * Computer went offline, nothing changes when it was offline already.
+     */
+    /*package*/ synchronized void offline(final @NonNull String name, final @CheckForNull String cause, final long now) {
+
+        final int id = id(name, now);
+        if (offline[id]) return;
+
+        offline[id] = true;
+        since[id] = now;
+        causes[id] = cause;
+        outages[id]++;
+    }
+
+    /**
+     * Computer went online.
+     *
+     * @return Milliseconds the computer was offline for, -1 when it was not known to be offline.
+     */
+    /*package*/ synchronized long online(final @NonNull String name, final long now) {
+
+        final int id = id(name, now);
+        if (!offline[id]) return -1;
+
+        final long duration = Math.max(0, now - since[id]);
+        down[id] += Math.max(0, now - Math.max(since[id], tracked[id]));
+
+        offline[id] = false;
+        since[id] = now;
+        causes[id] = null;
+
+        return duration;
+    }
+
+    /*package*/ synchronized void remove(final @NonNull String name) {
+
+        final Integer id = ids.remove(name);
+        if (id == null) return;
+
+        names[id] = null;
+        causes[id] = null;
+        free.add(id);
+    }
+
+    /**
+     * Availability of all known computers since the last report, then start a new period.
+     */
+    /*package*/ synchronized @NonNull List<Availability> report(final long now) {
+
+        final List<Availability> report = new ArrayList<>(ids.size());
+        for (int id = 0; id < names.length; id++) {
+
+            if (names[id] == null) continue;
+
+            long downtime = down[id];
+            if (offline[id]) {
+                downtime += Math.max(0, now - Math.max(since[id], tracked[id]));
+            }
+
+            final long period = now - tracked[id];
+            final double availability = period <= 0 ? 1 : Math.max(0, 1 - (double) downtime / period);
+            report.add(new Availability(
+                    names[id], availability, outages[id], !offline[id], now - since[id], causes[id]
+            ));
+
+            tracked[id] = now;
+            down[id] = 0;
+            // Outage in progress counts in the next period too
+            outages[id] = offline[id] ? 1 : 0;
+        }
+        periodStart = now;
+
+        report.sort((a, b) -> a.name().compareTo(b.name()));
+        return report;
+    }
+
+    /*package*/ synchronized long getPeriodStart() {
+
+        return periodStart;
+    }
+
+    private int id(final @NonNull String name, final long now) {
+
+        final Integer known = ids.get(name);
+        if (known != null) return known;
+
+        final int id;
+        if (free.isEmpty()) {
+
+            id = ids.size();
+            if (id == names.length) grow();
+        } else {
+
+            id = free.remove(free.size() - 1);
+        }
+
+        ids.put(name, id);
+        names[id] = name;
+        offline[id] = false;
+        since[id] = now;
+        causes[id] = null;
+        tracked[id] = Math.max(periodStart, now);
+        down[id] = 0;
+        outages[id] = 0;
+
+        return id;
+    }
+
+    private void grow() {
+
+        final int size = names.length * 2;
+        names = Arrays.copyOf(names, size);
+        offline = Arrays.copyOf(offline, size);
+        since = Arrays.copyOf(since, size);
+        causes = Arrays.copyOf(causes, size);
+        tracked = Arrays.copyOf(tracked, size);
+        down = Arrays.copyOf(down, size);
+        outages = Arrays.copyOf(outages, size);
+    }
+
+    /**
+     * Availability of a computer over the reported period.
+     *
+     * @param availability Fraction of the period the computer was online.
+     * @param outages Number of times the computer went offline.
+     * @param statusMillis Milliseconds the computer is in its current status for.
+     */
+    /*package*/ record Availability(
+            String name, double availability, int outages, boolean online, long statusMillis, String cause
+    ) {}
+}
@@ -0,0 +1,722 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.model.PeriodicWork;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Append-only history of notifications sent.
+ * <p>
+ * Records are appended to memory-mapped segment files under <tt>JENKINS_HOME/mail-watcher/history</tt>,
+ * a new segment is started once the current one is full. Records have a fixed size so
+ * a slot is claimed by advancing the write position of the segment with a CAS, and
+ * published by writing its marker last. Only rolling to a new segment takes a lock.
+ * <p>
+ * Every segment is indexed in memory by the names of entities it holds, so queries
+ * only read the segments that can contain matching records. Records are read straight
+ * from the mapping, text is decoded for matching records only.
+ * Retention is enforced by deleting whole segments. Readers and writers hold a reference
+ * to the segment they use, the last one to let go of a deleted segment deletes its file.
+ * Files that can not be deleted while mapped are retried on the next retention.
+ */
+@Extension
+public class NotificationHistory {
+
+    private static final Logger LOGGER = Logger.getLogger(NotificationHistory.class.getName());
+
+    private static final long SEGMENT_BYTES = 1024 * 1024;
+
+    private static final String PREFIX = "history-";
+    private static final String SUFFIX = ".bin";
+
+    /*
+     * Record layout: int marker, long time, then entity, status, subject and recipients,
+     * each as unsigned short length followed by UTF-8 bytes truncated to fit the record.
+     */
+    /*package*/ static final int RECORD_BYTES = 512;
+    private static final int COMMITTED = 0x4d574831;
+    private static final int TIME = 4;
+    private static final int FIELDS = 12;
+    private static final int ENTITY_BYTES = 128;
+    private static final int STATUS_BYTES = 16;
+    private static final int SUBJECT_BYTES = 192;
+
+    private static final VarHandle MARKER = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.BIG_ENDIAN);
+
+    private final @NonNull Path dir;
+    private final int segmentRecords;
+
+    // Oldest first, replaced under this
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+    private volatile Segment current;
+
+    // Deleted segments the file of which is still there, retried on next retention
+    private final List<Segment> retired = new ArrayList<>();
+
+    private final AtomicLong segmentsRead = new AtomicLong();
+
+    public NotificationHistory() {
+
+        this(Jenkins.get().getRootDir().toPath().resolve("mail-watcher").resolve("history"), SEGMENT_BYTES);
+    }
+
+    /*package*/ NotificationHistory(final @NonNull Path dir, final long segmentBytes) {
+
+        this.dir = dir;
+        this.segmentRecords = (int) Math.max(1, Math.min(Integer.MAX_VALUE / RECORD_BYTES, segmentBytes / RECORD_BYTES));
+        load();
+    }
+
+    public static @NonNull NotificationHistory get() {
+
+        return ExtensionList.lookupSingleton(NotificationHistory.class);
+    }
+
+    /*package*/ static @CheckForNull NotificationHistory getOrNull() {
+
+        return Jenkins.getInstanceOrNull() == null ? null : get();
+    }
+
+    /**
+     * Append the record.
+     */
+    public void record(final @NonNull Record record) {
+
+        final Encoded encoded = new Encoded(record);
+        while (true) {
+
+            final Segment segment = current;
+            if (segment != null && segment.acquire()) {
+
+                try {
+
+                    final int slot = segment.reserve();
+                    if (slot >= 0) {
+
+                        segment.write(slot, encoded);
+                        return;
+                    }
+                } finally {
+
+                    segment.release();
+                }
+            }
+
+            synchronized (this) {
+
+                // Someone else has rolled already
+                if (current != segment) continue;
+
+                try {
+
+                    current = roll(record.time);
+                } catch (IOException ex) {
+
+                    LOGGER.log(Level.WARNING, "Unable to record notification " + record.subject, ex);
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Records, newest first.
+     *
+     * @param entity Name of the entity to list records of, null for all.
+     * @param offset Number of matching records to skip.
+     * @param limit Maximal number of records to return.
+     */
+    public @NonNull Page query(final @CheckForNull String entity, final int offset, final int limit) {
+
+        return query(entity, Long.MIN_VALUE, Long.MAX_VALUE, offset, limit);
+    }
+
+    /**
+     * Records recorded within the time range, newest first.
+     *
+     * @param entity Name of the entity to list records of, null for all.
+     * @param from Oldest time to list records of, inclusive.
+     * @param to Newest time to list records of, inclusive.
+     * @param offset Number of matching records to skip.
+     * @param limit Maximal number of records to return.
+     */
+    public @NonNull Page query(
+            final @CheckForNull String entity, final long from, final long to, final int offset, final int limit
+    ) {
+
+        final byte[] key = entity == null ? null : utf8(entity, ENTITY_BYTES);
+        final String indexKey = key == null ? null : new String(key, StandardCharsets.UTF_8);
+
+        final List<Segment> candidates = new ArrayList<>(segments);
+        Collections.reverse(candidates);
+
+        final List<Record> records = new ArrayList<>(Math.min(limit, 1024));
+        int skip = offset;
+        for (final Segment segment: candidates) {
+
+            if (indexKey != null && !segment.contains(indexKey)) continue;
+            if (!segment.overlaps(from, to)) continue;
+
+            // Skip whole segments when only counting
+            if (key == null && segment.within(from, to) && skip >= segment.count.get()) {
+
+                skip -= segment.count.get();
+                continue;
+            }
+
+            // Deleted meanwhile
+            if (!segment.acquire()) continue;
+
+            try {
+
+                segmentsRead.incrementAndGet();
+                for (int slot = segment.position() - 1; slot >= 0; slot--) {
+
+                    if (!segment.matches(slot, key) || !segment.recordedWithin(slot, from, to)) continue;
+
+                    if (skip > 0) {
+
+                        skip--;
+                        continue;
+                    }
+
+                    // One more to tell there is a next page
+                    if (records.size() == limit) return new Page(records, offset, limit, true);
+                    records.add(segment.read(slot));
+                }
+            } finally {
+
+                segment.release();
+            }
+        }
+
+        return new Page(records, offset, limit, false);
+    }
+
+    /**
+     * Delete segments with no record younger than given time.
+     */
+    public synchronized void enforceRetention(final long oldestMillis) {
+
+        // The segment written to is never deleted
+        while (segments.size() > 1 && segments.get(0) != current && segments.get(0).lastTime.get() < oldestMillis) {
+
+            final Segment segment = segments.remove(0);
+            retired.add(segment);
+
+            // Deleted once queries still reading it are done
+            segment.release();
+        }
+
+        retired.removeIf(Segment::delete);
+    }
+
+    /*package*/ int getSegmentCount() {
+
+        return segments.size();
+    }
+
+    /**
+     * @return Number of segments scanned by queries so far.
+     */
+    public long getSegmentsRead() {
+
+        return segmentsRead.get();
+    }
+
+    /**
+     * Flush the mapped segments to disk.
+     */
+    /*package*/ void close() {
+
+        for (final Segment segment: segments) {
+
+            // Deleted meanwhile
+            if (!segment.acquire()) continue;
+
+            try {
+
+                segment.buffer.force();
+            } finally {
+
+                segment.release();
+            }
+        }
+    }
+
+    private @NonNull Segment roll(final long time) throws IOException {
+
+        Files.createDirectories(dir);
+
+        // Keep the names unique and ordered even for records within the same millisecond
+        long start = time;
+        if (!segments.isEmpty()) {
+            start = Math.max(start, segments.get(segments.size() - 1).start + 1);
+        }
+
+        final Segment segment = Segment.open(dir.resolve(PREFIX + start + SUFFIX), start, segmentRecords);
+        segments.add(segment);
+        return segment;
+    }
+
+    private synchronized void load() {
+
+        if (!Files.isDirectory(dir)) return;
+
+        final List<Segment> found = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, PREFIX + "*" + SUFFIX)) {
+
+            for (final Path file: files) {
+
+                final String name = file.getFileName().toString();
+                try {
+
+                    final long start = Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+                    final int records = (int) (Files.size(file) / RECORD_BYTES);
+                    if (records == 0) continue;
+
+                    final Segment segment = Segment.open(file, start, records);
+                    segment.index();
+                    found.add(segment);
+                } catch (NumberFormatException ex) {
+
+                    LOGGER.log(Level.FINE, "Not a history segment: {0}", file);
+                }
+            }
+        } catch (IOException ex) {
+
+            LOGGER.log(Level.WARNING, "Unable to load notification history", ex);
+        }
+
+        found.sort((a, b) -> Long.compare(a.start, b.start));
+        segments.addAll(found);
+
+        // Append to the newest segment until it is full
+        if (!segments.isEmpty()) {
+            current = segments.get(segments.size() - 1);
+        }
+    }
+
+    private static @NonNull byte[] utf8(final @NonNull String value, final int max) {
+
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length <= max) return bytes;
+
+        // Do not split multi-byte characters
+        int length = max;
+        while (length > 0 && (bytes[length] & 0xc0) == 0x80) {
+            length--;
+        }
+        return Arrays.copyOf(bytes, length);
+    }
+
+    /**
+     * Record encoded before claiming the slot, so the slot is claimed for as short as possible.
+     */
+    private static final class Encoded {
+
+        private final long time;
+        private final @NonNull String entity;
+        private final @NonNull byte[][] fields;
+
+        private Encoded(final @NonNull Record record) {
+
+            final byte[] entity = utf8(record.entity, ENTITY_BYTES);
+            final byte[] status = utf8(record.status, STATUS_BYTES);
+            final byte[] subject = utf8(record.subject, SUBJECT_BYTES);
+            final int left = RECORD_BYTES - FIELDS - 4 * 2 - entity.length - status.length - subject.length;
+
+            this.time = record.time;
+            this.entity = new String(entity, StandardCharsets.UTF_8);
+            this.fields = new byte[][] { entity, status, subject, utf8(record.recipients, left) };
+        }
+    }
+
+    /**
+     * Mapped segment file with its index.
+     */
+    private static final class Segment {
+
+        private final @NonNull Path file;
+        private final long start;
+        private final int capacity;
+        private final @NonNull MappedByteBuffer buffer;
+
+        // Next slot to claim
+        private final AtomicInteger position = new AtomicInteger();
+        private final AtomicInteger count = new AtomicInteger();
+        private final AtomicLong firstTime = new AtomicLong(Long.MAX_VALUE);
+        private final AtomicLong lastTime = new AtomicLong(Long.MIN_VALUE);
+        private final Set<String> entities = ConcurrentHashMap.newKeySet();
+
+        // References held, the one of the history itself is released when deleted
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        private Segment(final @NonNull Path file, final long start, final int capacity, final @NonNull MappedByteBuffer buffer) {
+
+            this.file = file;
+            this.start = start;
+            this.capacity = capacity;
+            this.buffer = buffer;
+        }
+
+        private static @NonNull Segment open(final @NonNull Path file, final long start, final int capacity) throws IOException {
+
+            try (FileChannel channel = FileChannel.open(
+                    file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE
+            )) {
+
+                // The mapping outlives the channel
+                final MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_BYTES);
+                return new Segment(file, start, capacity, buffer);
+            }
+        }
+
+        /**
+         * @return false when the segment is deleted already.
+         */
+        private boolean acquire() {
+
+            int held;
+            do {
+
+                held = references.get();
+                if (held == 0) return false;
+            } while (!references.compareAndSet(held, held + 1));
+
+            return true;
+        }
+
+        /**
+         * Delete the segment once it is deleted and the last reference is gone.
+         */
+        private void release() {
+
+            if (references.decrementAndGet() != 0) return;
+
+            delete();
+        }
+
+        /**
+         * @return true when the file is gone, false while it is still mapped or the delete failed.
+         */
+        private boolean delete() {
+
+            if (references.get() != 0) return false;
+
+            try {
+
+                Files.deleteIfExists(file);
+                return true;
+            } catch (IOException ex) {
+
+                LOGGER.log(Level.WARNING, "Unable to delete " + file, ex);
+                return false;
+            }
+        }
+
+        /**
+         * @return Claimed slot or -1 when the segment is full.
+         */
+        private int reserve() {
+
+            int slot;
+            do {
+
+                slot = position.get();
+                if (slot >= capacity) return -1;
+            } while (!position.compareAndSet(slot, slot + 1));
+
+            return slot;
+        }
+
+        private int position() {
+
+            return Math.min(position.get(), capacity);
+        }
+
+        private void write(final int slot, final @NonNull Encoded encoded) {
+
+            final int base = slot * RECORD_BYTES;
+            buffer.putLong(base + TIME, encoded.time);
+
+            int offset = base + FIELDS;
+            for (final byte[] field: encoded.fields) {
+
+                buffer.putShort(offset, (short) field.length);
+                buffer.put(offset + 2, field);
+                offset += 2 + field.length;
+            }
+
+            // Indexed before published so queries never miss it
+            entities.add(encoded.entity);
+            firstTime.accumulateAndGet(encoded.time, Math::min);
+            lastTime.accumulateAndGet(encoded.time, Math::max);
+
+            MARKER.setRelease(buffer, base, COMMITTED);
+            count.incrementAndGet();
+        }
+
+        private boolean matches(final int slot, final @CheckForNull byte[] entity) {
+
+            final int base = slot * RECORD_BYTES;
+            if ((int) MARKER.getAcquire(buffer, base) != COMMITTED) return false;
+            if (entity == null) return true;
+
+            final int offset = base + FIELDS;
+            if (Short.toUnsignedInt(buffer.getShort(offset)) != entity.length) return false;
+            for (int i = 0; i < entity.length; i++) {
+                if (buffer.get(offset + 2 + i) != entity[i]) return false;
+            }
+            return true;
+        }
+
+        private boolean contains(final @NonNull String entity) {
+
+            return entities.contains(entity);
+        }
+
+        /**
+         * @return false when no record of the segment can be within the time range.
+         */
+        private boolean overlaps(final long from, final long to) {
+
+            // Empty segment is read to tell
+            if (count.get() == 0) return true;
+
+            return lastTime.get() >= from && firstTime.get() <= to;
+        }
+
+        /**
+         * @return true when all records of the segment are within the time range.
+         */
+        private boolean within(final long from, final long to) {
+
+            return firstTime.get() >= from && lastTime.get() <= to;
+        }
+
+        private boolean recordedWithin(final int slot, final long from, final long to) {
+
+            final long time = buffer.getLong(slot * RECORD_BYTES + TIME);
+            return time >= from && time <= to;
+        }
+
+        private @NonNull Record read(final int slot) {
+
+            final int base = slot * RECORD_BYTES;
+            final String[] fields = new String[4];
+
+            int offset = base + FIELDS;
+            for (int i = 0; i < fields.length; i++) {
+
+                final int length = Short.toUnsignedInt(buffer.getShort(offset));
+                final byte[] bytes = new byte[length];
+                buffer.get(offset + 2, bytes);
+                fields[i] = new String(bytes, StandardCharsets.UTF_8);
+                offset += 2 + length;
+            }
+
+            return new Record(buffer.getLong(base + TIME), fields[0], fields[2], fields[3], fields[1]);
+        }
+
+        /**
+         * Rebuild the index and find the write position of the segment loaded from disk.
+         */
+        private void index() {
+
+            int last = -1;
+            for (int slot = 0; slot < capacity; slot++) {
+
+                if (!matches(slot, null)) continue;
+
+                final Record record = read(slot);
+                entities.add(record.entity);
+                firstTime.accumulateAndGet(record.time, Math::min);
+                lastTime.accumulateAndGet(record.time, Math::max);
+                count.incrementAndGet();
+                last = slot;
+            }
+            position.set(last + 1);
+        }
+    }
+
+    /**
+     * Notification recorded.
+     */
+    public static final class Record {
+
+        private final long time;
+        private final @NonNull String entity;
+        private final @NonNull String subject;
+        private final @NonNull String recipients;
+        private final @NonNull String status;
+
+        public Record(
+                final long time,
+                final @CheckForNull String entity,
+                final @CheckForNull String subject,
+                final @CheckForNull String recipients,
+                final @CheckForNull String status
+        ) {
+
+            this.time = time;
+            this.entity = clean(entity);
+            this.subject = clean(subject);
+            this.recipients = clean(recipients);
+            this.status = clean(status);
+        }
+
+        public long getTime() {
+
+            return time;
+        }
+
+        public @NonNull Date getDate() {
+
+            return new Date(time);
+        }
+
+        public @NonNull String getEntity() {
+
+            return entity;
+        }
+
+        public @NonNull String getSubject() {
+
+            return subject;
+        }
+
+        public @NonNull String getRecipients() {
+
+            return recipients;
+        }
+
+        public @NonNull String getStatus() {
+
+            return status;
+        }
+
+        // Keep records single line
+        private static @NonNull String clean(final @CheckForNull String value) {
+
+            if (value == null) return "";
+
+            return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+        }
+    }
+
+    /**
+     * Slice of the query result.
+     */
+    public static final class Page {
+
+        private final @NonNull List<Record> records;
+        private final int offset;
+        private final int limit;
+        private final boolean hasNext;
+
+        private Page(final @NonNull List<Record> records, final int offset, final int limit, final boolean hasNext) {
+
+            this.records = Collections.unmodifiableList(records);
+            this.offset = offset;
+            this.limit = limit;
+            this.hasNext = hasNext;
+        }
+
+        public @NonNull List<Record> getRecords() {
+
+            return records;
+        }
+
+        public int getOffset() {
+
+            return offset;
+        }
+
+        public int getLimit() {
+
+            return limit;
+        }
+
+        public boolean isHasNext() {
+
+            return hasNext;
+        }
+
+        public boolean isHasPrevious() {
+
+            return offset > 0;
+        }
+    }
+
+    @Extension
+    public static class Retention extends PeriodicWork {
+
+        @Override
+        public long getRecurrencePeriod() {
+
+            return TimeUnit.HOURS.toMillis(1);
+        }
+
+        @Override
+        protected void doRun() {
+
+            final int days = MailWatcherConfiguration.get().getHistoryRetentionDays();
+            if (days <= 0) return;
+
+            get().enforceRetention(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(days));
+        }
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.ManagementLink;
+import hudson.security.Permission;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+
+import jenkins.model.Jenkins;
+
+import org.kohsuke.stapler.StaplerRequest2;
+
+/**
+ * Browse notifications sent.
+ */
+@Extension
+public class NotificationHistoryLink extends ManagementLink {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Override
+    public String getIconFileName() {
+
+        return "notepad.png";
+    }
+
+    @Override
+    public String getUrlName() {
+
+        return "mail-watcher-history";
+    }
+
+    @Override
+    public String getDisplayName() {
+
+        return "Mail Watcher History";
+    }
+
+    @Override
+    public String getDescription() {
+
+        return "Notifications sent by Mail Watcher";
+    }
+
+    @Override
+    public @NonNull Permission getRequiredPermission() {
+
+        return Jenkins.ADMINISTER;
+    }
+
+    @Override
+    public @NonNull Category getCategory() {
+
+        return Category.STATUS;
+    }
+
+    /**
+     * Page of the history requested.
+     */
+    public @NonNull NotificationHistory.Page getPage(final @NonNull StaplerRequest2 req) {
+
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+        final String entity = Util.fixEmptyAndTrim(req.getParameter("entity"));
+        final LocalDate from = date(req.getParameter("from"));
+        final LocalDate to = date(req.getParameter("to"));
+        final ZoneId zone = ZoneId.systemDefault();
+        return NotificationHistory.get().query(
+                entity,
+                from == null ? Long.MIN_VALUE : from.atStartOfDay(zone).toInstant().toEpochMilli(),
+                // Whole day inclusive
+                to == null ? Long.MAX_VALUE : to.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli() - 1,
+                Math.max(0, parse(req.getParameter("offset"))),
+                PAGE_SIZE
+        );
+    }
+
+    /**
+     * Parse date as sent by the date input.
+     */
+    private static @CheckForNull LocalDate date(final @CheckForNull String value) {
+
+        final String date = Util.fixEmptyAndTrim(value);
+        if (date == null) return null;
+
+        try {
+
+            return LocalDate.parse(date);
+        } catch (DateTimeParseException ex) {
+
+            return null;
+        }
+    }
+
+    private static int parse(final @CheckForNull String value) {
+
+        if (value == null) return 0;
+
+        try {
+
+            return Integer.parseInt(value);
+        } catch (NumberFormatException ex) {
+
+            return 0;
+        }
+    }
+}
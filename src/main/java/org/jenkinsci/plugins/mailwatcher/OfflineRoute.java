@@ -0,0 +1,164 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Computer;
+import hudson.model.Descriptor;
+import hudson.node_monitors.MonitorOfflineCause;
+import hudson.slaves.OfflineCause;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+
+import java.util.Map;
+
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
+
+/**
+ * Recipients of a node going offline for a particular kind of cause.
+ * <p>
+ * Routes marked as digest are collected and reported together, others are sent right away.
+ */
+public class OfflineRoute extends AbstractDescribableImpl<OfflineRoute> {
+
+    public enum Kind {
+        USER("Taken offline by a user"),
+        CHANNEL("Connection lost"),
+        LAUNCH("Launch failed"),
+        MONITOR("Taken offline by a node monitor"),
+        IDLE("Idle"),
+        OTHER("Other cause");
+
+        private final String displayName;
+
+        Kind(final String displayName) {
+
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+
+            return displayName;
+        }
+    }
+
+    /**
+     * Kinds of causes, by class name so causes of optional plugins or newer cores do not need to be loaded.
+     */
+    private static final Map<String, Kind> KINDS = Map.of(
+            OfflineCause.UserCause.class.getName(), Kind.USER, // Including ByCLI
+            OfflineCause.ChannelTermination.class.getName(), Kind.CHANNEL,
+            OfflineCause.LaunchFailed.class.getName(), Kind.LAUNCH,
+            MonitorOfflineCause.class.getName(), Kind.MONITOR,
+            "hudson.slaves.OfflineCause$IdleOfflineCause", Kind.IDLE
+    );
+
+    /**
+     * Kind of every cause class, computed once on the first cause of that class.
+     */
+    private static final ClassValue<Kind> CLASSIFIED = new ClassValue<>() {
+        @Override
+        protected Kind computeValue(final Class<?> type) {
+
+            for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+
+                final Kind kind = KINDS.get(c.getName());
+                if (kind != null) return kind;
+            }
+
+            return Kind.OTHER;
+        }
+    };
+
+    private final @NonNull Kind kind;
+    private final @NonNull String addresses;
+    private final boolean digest;
+
+    @DataBoundConstructor
+    public OfflineRoute(final Kind kind, final String addresses, final boolean digest) {
+
+        this.kind = kind == null ? Kind.OTHER : kind;
+        this.addresses = Util.fixNull(addresses).trim();
+        this.digest = digest;
+    }
+
+    public static @NonNull Kind classify(final @NonNull OfflineCause cause) {
+
+        return CLASSIFIED.get(cause.getClass());
+    }
+
+    public @NonNull Kind getKind() {
+
+        return kind;
+    }
+
+    public @NonNull String getAddresses() {
+
+        return addresses;
+    }
+
+    /**
+     * Collect the events and report them together instead of right away.
+     */
+    public boolean isDigest() {
+
+        return digest;
+    }
+
+    @Extension
+    public static class DescriptorImpl extends Descriptor<OfflineRoute> {
+
+        public ListBoxModel doFillKindItems() {
+
+            final ListBoxModel items = new ListBoxModel();
+            for (Kind kind: Kind.values()) {
+                items.add(kind.getDisplayName(), kind.name());
+            }
+
+            return items;
+        }
+
+        @POST
+        public FormValidation doCheckAddresses(
+                @AncestorInPath Computer computer, @QueryParameter String value
+        ) {
+
+            if (Util.fixEmptyAndTrim(value) == null) return FormValidation.ok("Nobody is notified for this cause");
+
+            return MailWatcherMailer.validateMailAddresses(value, computer, Computer.CONFIGURE);
+        }
+
+        @Override @NonNull
+        public String getDisplayName() {
+
+            return "Offline cause route";
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.model.Label;
+import hudson.model.Node;
+import hudson.model.labels.LabelAtom;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * {@link WatcherRule}s compiled for lookup.
+ * <p>
+ * Folder rules are kept in a trie of name segments so resolving an item costs
+ * O(depth) regardless the number of rules. Rules for a single label are indexed
+ * by label name, only rules with complex label expressions need to be evaluated
+ * one by one.
+ */
+/*package*/ final class RecipientIndex {
+
+    private static final Logger LOGGER = Logger.getLogger(RecipientIndex.class.getName());
+
+    private static final Pattern LABEL_ATOM = Pattern.compile("[^\\s&|!()\"<>]+");
+
+    /*package*/ static final RecipientIndex EMPTY = compile(Collections.emptyList());
+
+    private final @NonNull TrieNode folders;
+    private final @NonNull Map<String, List<String>> atoms;
+    private final @NonNull List<ExpressionRule> expressions;
+
+    private RecipientIndex(
+            final @NonNull TrieNode folders,
+            final @NonNull Map<String, List<String>> atoms,
+            final @NonNull List<ExpressionRule> expressions
+    ) {
+
+        this.folders = folders;
+        this.atoms = atoms;
+        this.expressions = expressions;
+    }
+
+    /*package*/ static @NonNull RecipientIndex compile(final @NonNull Collection<WatcherRule> rules) {
+
+        final TrieNode folders = new TrieNode();
+        final Map<String, List<String>> atoms = new HashMap<>();
+        final List<ExpressionRule> expressions = new ArrayList<>();
+
+        for (WatcherRule rule: rules) {
+
+            if (rule.getAddresses().isEmpty()) continue;
+
+            switch (rule.getType()) {
+                case FOLDER:
+                    TrieNode node = folders;
+                    for (String segment: segments(rule.getPattern())) {
+                        node = node.children.computeIfAbsent(segment, k -> new TrieNode());
+                    }
+                    node.addresses.add(rule.getAddresses());
+                    break;
+                case LABEL:
+                    if (rule.getPattern().isEmpty()) continue;
+
+                    if (LABEL_ATOM.matcher(rule.getPattern()).matches()) {
+                        atoms.computeIfAbsent(rule.getPattern(), k -> new ArrayList<>()).add(rule.getAddresses());
+                    } else {
+                        expressions.add(new ExpressionRule(rule.getPattern(), rule.getAddresses()));
+                    }
+                    break;
+                default:
+                    throw new AssertionError(rule.getType());
+            }
+        }
+
+        return new RecipientIndex(folders, atoms, expressions);
+    }
+
+    /**
+     * Recipients of all folder rules matching the item.
+     *
+     * @param fullName Item full name.
+     * @return Address list or null if there are none.
+     */
+    /*package*/ @CheckForNull String forItem(final @CheckForNull String fullName) {
+
+        final Set<String> addresses = new LinkedHashSet<>(folders.addresses);
+        if (fullName != null) {
+
+            TrieNode node = folders;
+            for (String segment: segments(fullName)) {
+
+                node = node.children.get(segment);
+                if (node == null) break;
+
+                addresses.addAll(node.addresses);
+            }
+        }
+
+        return join(addresses);
+    }
+
+    /**
+     * Recipients of all label rules matching the node.
+     *
+     * @return Address list or null if there are none.
+     */
+    /*package*/ @CheckForNull String forNode(final @NonNull Node node) {
+
+        if (atoms.isEmpty() && expressions.isEmpty()) return null;
+
+        final Set<LabelAtom> labels = node.getAssignedLabels();
+        final List<String> names = new ArrayList<>(labels.size());
+        for (LabelAtom atom: labels) {
+            names.add(atom.getName());
+        }
+
+        final Set<String> addresses = forLabels(names);
+        for (ExpressionRule rule: expressions) {
+
+            final Label label = rule.label();
+            if (label != null && label.matches(node)) {
+                addresses.add(rule.addresses);
+            }
+        }
+
+        return join(addresses);
+    }
+
+    /**
+     * Recipients of label rules for all atoms of the label, or for the very same expression.
+     *
+     * @return Address list or null if there are none.
+     */
+    /*package*/ @CheckForNull String forLabel(final @NonNull Label label) {
+
+        if (atoms.isEmpty() && expressions.isEmpty()) return null;
+
+        final List<String> names = new ArrayList<>();
+        for (LabelAtom atom: label.listAtoms()) {
+            names.add(atom.getName());
+        }
+
+        final Set<String> addresses = forLabels(names);
+        for (ExpressionRule rule: expressions) {
+
+            if (rule.expression.equals(label.getExpression())) {
+                addresses.add(rule.addresses);
+            }
+        }
+
+        return join(addresses);
+    }
+
+    /*package*/ @NonNull Set<String> forLabels(final @NonNull Collection<String> labels) {
+
+        final Set<String> addresses = new LinkedHashSet<>();
+        for (String label: labels) {
+
+            final List<String> matching = atoms.get(label);
+            if (matching != null) {
+                addresses.addAll(matching);
+            }
+        }
+
+        return addresses;
+    }
+
+    private static @CheckForNull String join(final @NonNull Set<String> addresses) {
+
+        return addresses.isEmpty() ? null : String.join(", ", addresses);
+    }
+
+    private static @NonNull List<String> segments(final @NonNull String name) {
+
+        final List<String> segments = new ArrayList<>();
+        for (String segment: name.split("/")) {
+            if (!segment.isEmpty()) {
+                segments.add(segment);
+            }
+        }
+
+        return segments;
+    }
+
+    private static final class TrieNode {
+
+        private final Map<String, TrieNode> children = new HashMap<>();
+        private final List<String> addresses = new ArrayList<>(1);
+    }
+
+    private static final class ExpressionRule {
+
+        private final @NonNull String expression;
+        private final @NonNull String addresses;
+
+        private volatile Label label;
+        private volatile boolean invalid;
+
+        private ExpressionRule(final @NonNull String expression, final @NonNull String addresses) {
+
+            this.expression = expression;
+            this.addresses = addresses;
+        }
+
+        // Parsed on first use as it requires Jenkins to be up
+        private @CheckForNull Label label() {
+
+            if (label == null && !invalid) {
+                try {
+
+                    label = Label.parseExpression(expression);
+                } catch (IllegalArgumentException ex) {
+
+                    invalid = true;
+                    LOGGER.log(Level.WARNING, "Invalid label expression in watcher rule: " + expression, ex);
+                }
+            }
+
+            return label;
+        }
+    }
+}
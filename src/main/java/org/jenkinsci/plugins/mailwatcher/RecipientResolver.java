@@ -0,0 +1,366 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.XmlFile;
+import hudson.model.Saveable;
+import hudson.model.User;
+import hudson.model.listeners.SaveableListener;
+import hudson.security.SecurityRealm;
+import hudson.tasks.Mailer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jenkins.model.Jenkins;
+
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+/**
+ * Translate Jenkins user IDs and security realm groups to email addresses.
+ * <p>
+ * Recipient lists can contain, besides email addresses, IDs of Jenkins users
+ * and group names prefixed by <tt>@</tt>. Both are resolved through a cache
+ * as the group expansion can be expensive.
+ */
+@Extension
+public class RecipientResolver {
+
+    private static final Logger LOGGER = Logger.getLogger(RecipientResolver.class.getName());
+
+    private static final String GROUP_PREFIX = "@";
+
+    /**
+     * Entries kept per cache, expired ones are purged first once reached.
+     */
+    /*package*/ static final int MAX_ENTRIES = Integer.getInteger(RecipientResolver.class.getName() + ".maxEntries", 1000);
+
+    private final ConcurrentMap<String, Entry> users = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Entry> groups = new ConcurrentHashMap<>();
+
+    public static @NonNull RecipientResolver get() {
+
+        return ExtensionList.lookupSingleton(RecipientResolver.class);
+    }
+
+    /**
+     * @return Resolver or null when Jenkins is not running.
+     */
+    /*package*/ static @CheckForNull RecipientResolver getOrNull() {
+
+        return Jenkins.getInstanceOrNull() == null ? null : get();
+    }
+
+    /**
+     * Replace user IDs and groups by the addresses of the users.
+     *
+     * @return Email addresses separated by comma, empty if there are none.
+     */
+    public @NonNull String resolve(final @CheckForNull String recipients) {
+
+        final Set<String> addresses = new LinkedHashSet<>();
+        expand(recipients, addresses, addresses);
+        return String.join(", ", addresses);
+    }
+
+    /**
+     * Replace user IDs and groups by the addresses of the users, keeping them apart from addresses listed literally.
+     * <p>
+     * Whoever can configure the recipients is not necessarily allowed to learn the addresses of
+     * users and group members, so these are to be sent blind copies.
+     */
+    public @NonNull Split split(final @CheckForNull String recipients) {
+
+        final Set<String> visible = new LinkedHashSet<>();
+        final Set<String> hidden = new LinkedHashSet<>();
+        expand(recipients, visible, hidden);
+        hidden.removeAll(visible);
+
+        return new Split(String.join(", ", visible), String.join(", ", hidden));
+    }
+
+    private void expand(
+            final @CheckForNull String recipients, final @NonNull Set<String> visible, final @NonNull Set<String> hidden
+    ) {
+
+        for (final String token: tokenize(recipients)) {
+
+            if (!isReference(token)) {
+
+                visible.add(token);
+            } else if (token.startsWith(GROUP_PREFIX)) {
+
+                hidden.addAll(group(token.substring(GROUP_PREFIX.length())));
+            } else {
+
+                final List<String> user = user(token);
+                // Not a known user, let the caller complain about the address
+                if (user.isEmpty()) {
+
+                    visible.add(token);
+                } else {
+
+                    hidden.addAll(user);
+                }
+            }
+        }
+    }
+
+    /**
+     * @param visible Addresses listed literally, separated by comma.
+     * @param hidden Addresses of referenced users and group members, separated by comma.
+     */
+    public record Split(@NonNull String visible, @NonNull String hidden) {}
+
+    /**
+     * @return Address of the user, null if unknown.
+     */
+    public @CheckForNull String address(final @NonNull User user) {
+
+        final List<String> address = lookup(users, user.getId(), this::loadUser);
+        return address.isEmpty() ? null : address.get(0);
+    }
+
+    /**
+     * @return true when the reference names a user with an address or a group.
+     */
+    /*package*/ boolean isResolvable(final @NonNull String reference) {
+
+        if (reference.startsWith(GROUP_PREFIX)) {
+
+            return !group(reference.substring(GROUP_PREFIX.length())).isEmpty();
+        }
+
+        return !user(reference).isEmpty();
+    }
+
+    /*package*/ static boolean isReference(final @NonNull String token) {
+
+        if (token.startsWith(GROUP_PREFIX)) return token.length() > GROUP_PREFIX.length();
+
+        return token.indexOf('@') < 0 && token.indexOf('<') < 0 && token.indexOf('"') < 0;
+    }
+
+    /*package*/ void invalidateUser(final @NonNull String id) {
+
+        users.remove(id);
+    }
+
+    /*package*/ int cachedUsers() {
+
+        return users.size();
+    }
+
+    /*package*/ void invalidate() {
+
+        users.clear();
+        groups.clear();
+    }
+
+    private @NonNull List<String> user(final String id) {
+
+        return lookup(users, id, this::loadUser);
+    }
+
+    private @NonNull List<String> group(final String name) {
+
+        return lookup(groups, name, this::loadGroup);
+    }
+
+    private @NonNull List<String> lookup(
+            final ConcurrentMap<String, Entry> cache, final String key, final Loader loader
+    ) {
+
+        final long now = System.nanoTime();
+        final Entry cached = cache.get(key);
+        if (cached != null && now - cached.loaded < ttl()) return cached.addresses;
+
+        final Entry loaded = new Entry(loader.load(key), now);
+        if (cached == null && cache.size() >= MAX_ENTRIES) evict(cache, now);
+        cache.put(key, loaded);
+        return loaded.addresses;
+    }
+
+    private void evict(final ConcurrentMap<String, Entry> cache, final long now) {
+
+        final long ttl = ttl();
+        cache.values().removeIf(entry -> now - entry.loaded >= ttl);
+
+        // Still full of live entries, drop the oldest ones
+        while (cache.size() >= MAX_ENTRIES) {
+
+            Map.Entry<String, Entry> oldest = null;
+            for (final Map.Entry<String, Entry> entry: cache.entrySet()) {
+
+                // nanoTime values only compare by difference
+                if (oldest == null || entry.getValue().loaded - oldest.getValue().loaded < 0) {
+
+                    oldest = entry;
+                }
+            }
+
+            if (oldest == null) return;
+            cache.remove(oldest.getKey());
+        }
+    }
+
+    private long ttl() {
+
+        final MailWatcherConfiguration config = MailWatcherConfiguration.get();
+        return TimeUnit.SECONDS.toNanos(config.getRecipientCacheTtl());
+    }
+
+    private @NonNull List<String> loadUser(final String id) {
+
+        final User user = User.getById(id, false);
+        if (user == null) return Collections.emptyList();
+
+        final Mailer.UserProperty property = user.getProperty(Mailer.UserProperty.class);
+        final String address = property == null ? null : property.getAddress();
+
+        return address == null || address.trim().isEmpty()
+                ? Collections.emptyList()
+                : Collections.singletonList(address.trim())
+        ;
+    }
+
+    private @NonNull List<String> loadGroup(final String name) {
+
+        final SecurityRealm realm = Jenkins.get().getSecurityRealm();
+        final Set<String> members;
+        try {
+
+            members = realm.loadGroupByGroupname2(name, true).getMembers();
+        } catch (UsernameNotFoundException ex) {
+
+            LOGGER.log(Level.FINE, "No such group " + name, ex);
+            return Collections.emptyList();
+        } catch (RuntimeException ex) {
+
+            LOGGER.log(Level.WARNING, "Unable to expand group " + name, ex);
+            return Collections.emptyList();
+        }
+
+        if (members == null) {
+
+            LOGGER.log(Level.FINE, "Security realm does not list members of {0}", name);
+            return Collections.emptyList();
+        }
+
+        final List<String> addresses = new ArrayList<>(members.size());
+        for (final String member: members) {
+            addresses.addAll(loadUser(member));
+        }
+
+        return Collections.unmodifiableList(addresses);
+    }
+
+    /**
+     * Split comma separated recipients, commas in quoted names and angle brackets do not split.
+     */
+    /*package*/ static @NonNull List<String> tokenize(final @CheckForNull String recipients) {
+
+        final List<String> tokens = new ArrayList<>();
+        if (recipients == null) return tokens;
+
+        boolean quoted = false;
+        boolean bracketed = false;
+        int start = 0;
+        for (int i = 0; i < recipients.length(); i++) {
+
+            final char c = recipients.charAt(i);
+            if (c == '\\' && quoted) {
+
+                i++;
+            } else if (c == '"') {
+
+                quoted = !quoted;
+            } else if (!quoted && c == '<') {
+
+                bracketed = true;
+            } else if (!quoted && c == '>') {
+
+                bracketed = false;
+            } else if (!quoted && !bracketed && c == ',') {
+
+                add(tokens, recipients.substring(start, i));
+                start = i + 1;
+            }
+        }
+        add(tokens, recipients.substring(start));
+
+        return tokens;
+    }
+
+    private static void add(final List<String> tokens, final String token) {
+
+        final String trimmed = token.trim();
+        if (!trimmed.isEmpty()) tokens.add(trimmed);
+    }
+
+    private interface Loader {
+        @NonNull List<String> load(String key);
+    }
+
+    private static final class Entry {
+
+        private final @NonNull List<String> addresses;
+        private final long loaded;
+
+        private Entry(final @NonNull List<String> addresses, final long loaded) {
+
+            this.addresses = addresses;
+            this.loaded = loaded;
+        }
+    }
+
+    @Extension
+    public static class UserChanges extends SaveableListener {
+
+        @Override
+        public void onChange(final Saveable o, final XmlFile file) {
+
+            if (o instanceof User) {
+
+                get().invalidateUser(((User) o).getId());
+            } else if (o instanceof MailWatcherConfiguration) {
+
+                get().invalidate();
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+
+/**
+ * Send notifications as mail, always enabled.
+ */
+@Extension(ordinal = 100)
+public class SmtpChannel extends DeliveryChannel {
+
+    @Override
+    public boolean isEnabled(final @NonNull MailWatcherConfiguration config) {
+
+        return true;
+    }
+
+    @Override
+    public void deliver(
+            final @NonNull MailWatcherNotification notification, final @NonNull MailWatcherConfiguration config
+    ) {
+
+        notification.sendMail();
+    }
+
+    @Override
+    public int getQueueCapacity() {
+
+        // Messages over rate limit are deferred rather than queued here
+        return 1000;
+    }
+
+    @Override
+    public boolean isDeliveredWhenFull() {
+
+        // Mail is never dropped, the sender is slowed down instead
+        return true;
+    }
+
+    @Override
+    public int getWorkers() {
+
+        return 2;
+    }
+
+    @Override
+    public @NonNull String getDisplayName() {
+
+        return "SMTP";
+    }
+}
@@ -0,0 +1,241 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.init.Terminator;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.NamingThreadFactory;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Connected SMTP transports reused between messages, and threads delivering split notifications.
+ * <p>
+ * Connections are kept for the session configuration they were opened with
+ * and dropped once the configuration changes or they stay idle for too long.
+ * Both connections and threads are released when Jenkins shuts down.
+ */
+@Extension
+public final class SmtpPool {
+
+    private static final Logger LOGGER = Logger.getLogger(SmtpPool.class.getName());
+
+    private static final long MAX_IDLE_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    private static final int MAX_CONNECTIONS = 4;
+
+    private final int maxIdle;
+
+    // Guarded by this
+    private Properties properties;
+    private final Deque<Idle> idle = new ArrayDeque<>();
+    // Created on first delivery of a split notification
+    private ExecutorService executor;
+
+    public SmtpPool() {
+
+        this(MAX_CONNECTIONS);
+    }
+
+    /*package*/ SmtpPool(final int maxIdle) {
+
+        this.maxIdle = maxIdle;
+    }
+
+    public static @NonNull SmtpPool get() {
+
+        return ExtensionList.lookupSingleton(SmtpPool.class);
+    }
+
+    /*package*/ static @CheckForNull SmtpPool getOrNull() {
+
+        return Jenkins.getInstanceOrNull() == null ? null : get();
+    }
+
+    /**
+     * Threads to deliver envelopes of a notification concurrently, one per pooled connection.
+     */
+    /*package*/ synchronized @NonNull ExecutorService executor() {
+
+        if (executor == null) {
+
+            final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                    maxIdle, maxIdle, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                    new NamingThreadFactory(new DaemonThreadFactory(), "Mail Watcher delivery")
+            );
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        }
+
+        return executor;
+    }
+
+    /**
+     * Close idle connections and stop the delivery threads once they finish what they are sending.
+     */
+    /*package*/ synchronized void close() {
+
+        drain();
+        properties = null;
+        if (executor != null) {
+
+            executor.shutdown();
+            executor = null;
+        }
+    }
+
+    // Channels deliver mail until they are drained
+    @Terminator(requires = DeliveryChannels.DRAINED)
+    public static void shutdown() {
+
+        final SmtpPool pool = getOrNull();
+        if (pool != null) {
+            pool.close();
+        }
+    }
+
+    /**
+     * Send the message over a pooled connection.
+     */
+    /*package*/ void send(final @NonNull Session session, final @NonNull MimeMessage msg) throws MessagingException {
+
+        msg.saveChanges();
+
+        Transport transport = borrow(session);
+        if (transport == null) {
+
+            transport = connect(session);
+        } else if (!transport.isConnected()) {
+
+            // Closed by the server meanwhile
+            close(transport);
+            transport = connect(session);
+        }
+
+        try {
+
+            transport.sendMessage(msg, msg.getAllRecipients());
+        } catch (MessagingException | RuntimeException ex) {
+
+            close(transport);
+            throw ex;
+        }
+
+        release(session, transport);
+    }
+
+    /*package*/ synchronized int getIdle() {
+
+        return idle.size();
+    }
+
+    private Transport connect(final Session session) throws MessagingException {
+
+        final Transport transport = session.getTransport("smtp");
+        transport.connect();
+        return transport;
+    }
+
+    private synchronized Transport borrow(final Session session) {
+
+        if (!session.getProperties().equals(properties)) {
+
+            drain();
+            properties = (Properties) session.getProperties().clone();
+            return null;
+        }
+
+        final long now = System.nanoTime();
+        Idle candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+
+            if (now - candidate.since < MAX_IDLE_NANOS) return candidate.transport;
+
+            close(candidate.transport);
+        }
+
+        return null;
+    }
+
+    private synchronized void release(final Session session, final Transport transport) {
+
+        if (idle.size() >= maxIdle || !session.getProperties().equals(properties)) {
+
+            close(transport);
+            return;
+        }
+
+        idle.addFirst(new Idle(transport, System.nanoTime()));
+    }
+
+    private void drain() {
+
+        Idle candidate;
+        while ((candidate = idle.pollFirst()) != null) {
+            close(candidate.transport);
+        }
+    }
+
+    private static void close(final Transport transport) {
+
+        try {
+
+            transport.close();
+        } catch (MessagingException ex) {
+
+            LOGGER.log(Level.FINE, "Unable to close SMTP connection", ex);
+        }
+    }
+
+    private static final class Idle {
+
+        private final Transport transport;
+        private final long since;
+
+        private Idle(final Transport transport, final long since) {
+
+            this.transport = transport;
+            this.since = since;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Write notifications as JSON files to the configured directory for other tools to pick up.
+ * <p>
+ * Files are written under a hidden name and moved in place once complete,
+ * so consumers never see partially written notifications.
+ */
+@Extension
+public class SpoolChannel extends DeliveryChannel {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Override
+    public boolean isEnabled(final @NonNull MailWatcherConfiguration config) {
+
+        return config.getSpoolDirectory() != null;
+    }
+
+    @Override
+    public void deliver(
+            final @NonNull MailWatcherNotification notification, final @NonNull MailWatcherConfiguration config
+    ) throws IOException {
+
+        Path dir = Paths.get(config.getSpoolDirectory());
+        if (!dir.isAbsolute()) {
+            dir = Jenkins.get().getRootDir().toPath().resolve(dir);
+        }
+
+        spool(dir, notification.getJson());
+    }
+
+    /*package*/ @NonNull Path spool(final @NonNull Path dir, final @NonNull String json) throws IOException {
+
+        Files.createDirectories(dir);
+
+        final String name = System.currentTimeMillis() + "-" + sequence.incrementAndGet() + ".json";
+        final Path tmp = dir.resolve("." + name + ".tmp");
+        final Path file = dir.resolve(name);
+
+        Files.writeString(tmp, json, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.ATOMIC_MOVE);
+
+        return file;
+    }
+
+    @Override
+    public @NonNull String getDisplayName() {
+
+        return "File spool";
+    }
+}
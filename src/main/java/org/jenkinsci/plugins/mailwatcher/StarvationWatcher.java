@@ -0,0 +1,308 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.Util;
+import hudson.model.Label;
+import hudson.model.PeriodicWork;
+import hudson.model.Queue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Notify when items waiting for a label pile up while no executor is idle to take them.
+ * <p>
+ * Buildable items are sampled every minute and counted per label. A label is
+ * starving when at least the configured number of items wait for it and none
+ * of its executors is idle. It is reported once it starves for the configured
+ * time, and reported as recovered once the queue drops below half the
+ * threshold, so a queue hovering around the threshold does not send a mail
+ * on every sample.
+ */
+@Extension
+public class StarvationWatcher {
+
+    private final MailWatcherMailer mailer;
+    private final String jenkinsRootUrl;
+
+    // Guarded by this
+    private final Map<String, State> states = new HashMap<>();
+
+    public StarvationWatcher() {
+
+        this(new MailWatcherMailer(Jenkins.get()), null);
+    }
+
+    /**
+     * @param jenkinsRootUrl Root URL to use in notifications, null to use the one configured.
+     */
+    public StarvationWatcher(
+            final MailWatcherMailer mailer,
+            final String jenkinsRootUrl
+    ) {
+
+        if (mailer == null) throw new IllegalArgumentException(
+                "No mailer provided"
+        );
+
+        this.mailer = mailer;
+        this.jenkinsRootUrl = jenkinsRootUrl;
+    }
+
+    /**
+     * Sample the queue and notify about labels that started or stopped starving.
+     */
+    /*package*/ void sample() {
+
+        final MailWatcherConfiguration config = mailer.configuration();
+        if (config == null || config.getStarvationQueueLength() <= 0) {
+
+            synchronized (this) {
+                states.clear();
+            }
+            return;
+        }
+
+        // Count first, so executor load is computed once per label
+        final Map<String, Label> labels = new HashMap<>();
+        final Map<String, Integer> queued = new HashMap<>();
+        for (final Queue.BuildableItem item: Queue.getInstance().getBuildableItems()) {
+
+            final Label label = item.getAssignedLabel();
+            final String key = label == null ? "" : label.getExpression();
+            labels.putIfAbsent(key, label);
+            queued.merge(key, 1, Integer::sum);
+        }
+
+        final Map<String, Load> loads = new HashMap<>();
+        for (final Map.Entry<String, Integer> entry: queued.entrySet()) {
+
+            final Label label = labels.get(entry.getKey());
+            final int idle = label == null
+                    ? Jenkins.get().overallLoad.computeIdleExecutors()
+                    : label.loadStatistics.computeIdleExecutors()
+            ;
+            loads.put(entry.getKey(), new Load(entry.getKey(), entry.getValue(), idle));
+        }
+
+        final List<Alert> alerts = evaluate(
+                loads, config.getStarvationQueueLength(),
+                TimeUnit.MINUTES.toMillis(config.getStarvationMinutes()), System.currentTimeMillis()
+        );
+
+        for (final Alert alert: alerts) {
+
+            final Label label = labels.get(alert.label());
+            final RecipientIndex index = config.getIndex();
+            final String ruleRecipients = label == null ? null : index.forLabel(label);
+
+            new Notification.Builder(mailer, jenkinsRootUrl)
+                    .alert(alert)
+                    .recipients(MailWatcherMailer.mergeAddresses(config.getStarvationAddresses(), ruleRecipients))
+                    .send(label)
+            ;
+        }
+    }
+
+    /**
+     * Advance the state of every label and tell which of them started or stopped starving.
+     *
+     * @param loads Load of labels with items waiting, labels not present have none waiting.
+     */
+    /*package*/ synchronized @NonNull List<Alert> evaluate(
+            final @NonNull Map<String, Load> loads, final int threshold, final long sustainMillis, final long now
+    ) {
+
+        final List<Alert> alerts = new ArrayList<>();
+
+        for (final Load load: loads.values()) {
+
+            State state = states.get(load.label());
+            if (state == null) {
+
+                if (load.queued() < threshold || load.idle() > 0) continue;
+
+                state = new State();
+                states.put(load.label(), state);
+            }
+
+            final Alert alert = state.sample(load, threshold, sustainMillis, now);
+            if (alert != null) alerts.add(alert);
+
+            if (state.since == NOT_STARVING) {
+                states.remove(load.label());
+            }
+        }
+
+        // Nothing waits for these anymore
+        for (final Iterator<Map.Entry<String, State>> it = states.entrySet().iterator(); it.hasNext();) {
+
+            final Map.Entry<String, State> entry = it.next();
+            if (loads.containsKey(entry.getKey())) continue;
+
+            final Alert alert = entry.getValue().sample(
+                    new Load(entry.getKey(), 0, 0), threshold, sustainMillis, now
+            );
+            if (alert != null) alerts.add(alert);
+            it.remove();
+        }
+
+        return alerts;
+    }
+
+    /**
+     * Items waiting for a label and its idle executors.
+     *
+     * @param label Label expression, empty for items that can run anywhere.
+     */
+    /*package*/ record Load(String label, int queued, int idle) {}
+
+    /**
+     * @param recovered The label stopped starving.
+     * @param starvingMillis For how long the label was starving.
+     */
+    /*package*/ record Alert(String label, int queued, boolean recovered, long starvingMillis) {}
+
+    private static final long NOT_STARVING = Long.MIN_VALUE;
+
+    private static final class State {
+
+        // Start of the starvation
+        private long since = NOT_STARVING;
+        private boolean alerted;
+
+        private @CheckForNull Alert sample(
+                final @NonNull Load load, final int threshold, final long sustainMillis, final long now
+        ) {
+
+            final boolean starving = load.queued() >= threshold && load.idle() == 0;
+            if (!alerted) {
+
+                // Sustained means uninterrupted
+                if (!starving) {
+
+                    since = NOT_STARVING;
+                    return null;
+                }
+
+                if (since == NOT_STARVING) {
+                    since = now;
+                }
+
+                if (now - since < sustainMillis) return null;
+
+                alerted = true;
+                return new Alert(load.label(), load.queued(), false, now - since);
+            }
+
+            // Down to the low watermark ends the starvation, above it nothing changes
+            if (load.queued() <= threshold / 2) {
+
+                final long duration = now - since;
+                since = NOT_STARVING;
+                alerted = false;
+
+                return new Alert(load.label(), load.queued(), true, duration);
+            }
+
+            return null;
+        }
+    }
+
+    private static class Notification extends MailWatcherNotification {
+
+        private final Alert alert;
+
+        public Notification(final Builder builder) {
+
+            super(builder);
+            this.alert = builder.alert;
+        }
+
+        @Override
+        protected String getSubject() {
+
+            final String label = alert.label().isEmpty() ? "any label" : "label " + alert.label();
+            return alert.recovered()
+                    ? String.format("Items for %s no longer starving after %s, %d queued",
+                            label, Util.getTimeSpanString(alert.starvingMillis()), alert.queued())
+                    : String.format("Items for %s starving for %s, %d queued and no idle executor",
+                            label, Util.getTimeSpanString(alert.starvingMillis()), alert.queued())
+            ;
+        }
+
+        private static class Builder extends MailWatcherNotification.Builder {
+
+            private Alert alert;
+
+            public Builder(final MailWatcherMailer mailer, final String jenkinsRootUrl) {
+
+                super(mailer, jenkinsRootUrl);
+            }
+
+            public Builder alert(final Alert alert) {
+
+                this.alert = alert;
+                return this;
+            }
+
+            @Override
+            public void send(final Object o) {
+
+                final Label label = (Label) o;
+
+                url(label == null ? "computer/" : label.getUrl());
+                name(label == null ? "any label" : label.getDisplayName());
+                new Notification(this).send();
+            }
+        }
+    }
+
+    @Extension
+    public static class Sampler extends PeriodicWork {
+
+        @Override
+        public long getRecurrencePeriod() {
+
+            return TimeUnit.MINUTES.toMillis(1);
+        }
+
+        @Override
+        protected void doRun() {
+
+            ExtensionList.lookupSingleton(StarvationWatcher.class).sample();
+        }
+    }
+}
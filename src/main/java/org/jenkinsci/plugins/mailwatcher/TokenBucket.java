@@ -0,0 +1,79 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket refilled continuously at a rate of <tt>perMinute</tt> tokens per minute.
+ */
+/*package*/ final class TokenBucket {
+
+    private final int perMinute;
+    private final double tokensPerNano;
+
+    private double tokens;
+    private long lastRefill;
+
+    /*package*/ TokenBucket(final int perMinute, final long now) {
+
+        if (perMinute <= 0) throw new IllegalArgumentException(
+                "Rate must be positive: " + perMinute
+        );
+
+        this.perMinute = perMinute;
+        this.tokensPerNano = perMinute / (double) TimeUnit.MINUTES.toNanos(1);
+        this.tokens = perMinute;
+        this.lastRefill = now;
+    }
+
+    /*package*/ int getPerMinute() {
+
+        return perMinute;
+    }
+
+    /*package*/ synchronized double available(final long now) {
+
+        refill(now);
+        return tokens;
+    }
+
+    /*package*/ synchronized boolean tryAcquire(final long now) {
+
+        refill(now);
+        if (tokens < 1) return false;
+
+        tokens -= 1;
+        return true;
+    }
+
+    private void refill(final long now) {
+
+        final long elapsed = now - lastRefill;
+        if (elapsed <= 0) return;
+
+        tokens = Math.min(perMinute, tokens + elapsed * tokensPerNano);
+        lastRefill = now;
+    }
+}
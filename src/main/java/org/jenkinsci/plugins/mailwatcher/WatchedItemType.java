@@ -0,0 +1,177 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.ExtensionList;
+import hudson.ExtensionListListener;
+import hudson.ExtensionPoint;
+import hudson.model.Item;
+import hudson.model.Job;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Kind of {@link Item} that can be watched for configuration changes.
+ * <p>
+ * The type handling an item class is looked up once and cached per class, so
+ * telling whether an event concerns a watched item is a single lookup. The cache
+ * belongs to the extension list of the running Jenkins and is dropped when the
+ * list changes, for instance as a plugin gets installed.
+ */
+public abstract class WatchedItemType implements ExtensionPoint {
+
+    /*package*/ static final WatchedItemType JOB = new JobType();
+
+    private static final WatchedItemType NONE = new NoType();
+
+    private static volatile Types types;
+
+    /**
+     * @return Type handling the item, null if items of its class are not watched.
+     */
+    public static @CheckForNull WatchedItemType of(final @CheckForNull Item item) {
+
+        if (item == null) return null;
+
+        final Class<?> itemClass = item.getClass();
+        if (Jenkins.getInstanceOrNull() == null) return JOB.isApplicable(itemClass) ? JOB : null;
+
+        final WatchedItemType type = types().of(itemClass);
+        return type == NONE ? null : type;
+    }
+
+    private static @NonNull Types types() {
+
+        final ExtensionList<WatchedItemType> extensions = ExtensionList.lookup(WatchedItemType.class);
+        Types current = types;
+        if (current == null || current.extensions != extensions) {
+
+            current = new Types(extensions);
+            extensions.addListener(current);
+            types = current;
+        }
+
+        return current;
+    }
+
+    /**
+     * Handles items of given class.
+     */
+    public abstract boolean isApplicable(final @NonNull Class<?> itemClass);
+
+    /**
+     * Addresses configured directly on the item.
+     */
+    public abstract @CheckForNull String getWatcherAddresses(final @NonNull Item item);
+
+    /**
+     * Name of the type used in notification subject.
+     */
+    public abstract @NonNull String getDisplayName();
+
+    private static final class JobType extends WatchedItemType {
+
+        @Override
+        public boolean isApplicable(final @NonNull Class<?> itemClass) {
+
+            return Job.class.isAssignableFrom(itemClass);
+        }
+
+        @Override
+        public String getWatcherAddresses(final @NonNull Item item) {
+
+            final WatcherJobProperty property = ((Job<?, ?>) item).getProperty(WatcherJobProperty.class);
+            return property == null ? null : property.getWatcherAddresses();
+        }
+
+        @Override
+        public @NonNull String getDisplayName() {
+
+            return "Job";
+        }
+    }
+
+    private static final class NoType extends WatchedItemType {
+
+        @Override
+        public boolean isApplicable(final @NonNull Class<?> itemClass) {
+
+            return false;
+        }
+
+        @Override
+        public String getWatcherAddresses(final @NonNull Item item) {
+
+            return null;
+        }
+
+        @Override
+        public @NonNull String getDisplayName() {
+
+            return "Item";
+        }
+    }
+
+    /**
+     * Types resolved per item class for one extension list.
+     */
+    private static final class Types extends ExtensionListListener {
+
+        private final @NonNull ExtensionList<WatchedItemType> extensions;
+        private final ConcurrentMap<Class<?>, WatchedItemType> byClass = new ConcurrentHashMap<>();
+
+        private Types(final @NonNull ExtensionList<WatchedItemType> extensions) {
+
+            this.extensions = extensions;
+        }
+
+        private @NonNull WatchedItemType of(final @NonNull Class<?> itemClass) {
+
+            return byClass.computeIfAbsent(itemClass, this::compute);
+        }
+
+        private @NonNull WatchedItemType compute(final @NonNull Class<?> itemClass) {
+
+            if (JOB.isApplicable(itemClass)) return JOB;
+
+            for (final WatchedItemType candidate: extensions) {
+
+                if (candidate.isApplicable(itemClass)) return candidate;
+            }
+
+            return NONE;
+        }
+
+        @Override
+        public void onChange() {
+
+            byClass.clear();
+        }
+    }
+}
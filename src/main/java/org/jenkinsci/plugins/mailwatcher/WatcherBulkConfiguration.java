@@ -0,0 +1,317 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.BulkChange;
+import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.Util;
+import hudson.model.Job;
+import hudson.model.RootAction;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.util.DaemonThreadFactory;
+import hudson.util.FormValidation;
+import hudson.util.NamingThreadFactory;
+import net.sf.json.JSONObject;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+import jenkins.model.Jenkins;
+
+import org.kohsuke.stapler.HttpResponse;
+import org.kohsuke.stapler.HttpResponses;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
+import org.springframework.security.core.Authentication;
+
+/**
+ * Configure watcher of many jobs at once.
+ * <p>
+ * Jobs are selected by folder, full name pattern or both. Jobs already
+ * configured as requested are not saved at all, the rest is saved in
+ * parallel by a bounded number of threads as the user that asked for it.
+ * Saving a job does not fire {@link hudson.model.listeners.ItemListener#onUpdated},
+ * so no job updated notifications are sent for these saves.
+ * <p>
+ * Available as <code>POST /mail-watcher-configure/configure</code> and the
+ * {@link ConfigureWatchersCommand} CLI command.
+ */
+@Extension
+public class WatcherBulkConfiguration implements RootAction {
+
+    private static final Logger LOGGER = Logger.getLogger(WatcherBulkConfiguration.class.getName());
+
+    /*package*/ static final int DEFAULT_PARALLELISM = 4;
+    /*package*/ static final int MAX_PARALLELISM = 32;
+
+    public static @NonNull WatcherBulkConfiguration get() {
+
+        return ExtensionList.lookupSingleton(WatcherBulkConfiguration.class);
+    }
+
+    @Override
+    public String getIconFileName() {
+
+        return null;
+    }
+
+    @Override
+    public String getDisplayName() {
+
+        return null;
+    }
+
+    @Override
+    public String getUrlName() {
+
+        return "mail-watcher-configure";
+    }
+
+    @POST
+    public HttpResponse doConfigure(
+            @QueryParameter final String folder,
+            @QueryParameter final String regex,
+            @QueryParameter final String addresses,
+            @QueryParameter final boolean watchBuildResults,
+            @QueryParameter final boolean remove,
+            @QueryParameter final int parallelism
+    ) throws InterruptedException {
+
+        Jenkins.get().checkPermission(Jenkins.ADMINISTER);
+
+        if (!remove && Util.fixEmptyAndTrim(addresses) == null) return HttpResponses.errorJSON(
+                "Either addresses or remove is required"
+        );
+
+        final Result result;
+        try {
+
+            result = apply(folder, regex, remove ? null : addresses, watchBuildResults, parallelism);
+        } catch (IllegalArgumentException ex) {
+
+            return HttpResponses.errorJSON(ex.getMessage());
+        }
+
+        final JSONObject json = new JSONObject();
+        json.put("matched", result.matched());
+        json.put("updated", result.updated());
+        json.put("failed", result.failed());
+        return HttpResponses.okJSON(json);
+    }
+
+    /**
+     * Configure all matching jobs.
+     *
+     * @param folder Full name of the folder to configure jobs in, including subfolders. All folders when blank.
+     * @param regex Pattern full names of the jobs need to match. All jobs when blank.
+     * @param addresses Recipients to configure, null to remove the watcher.
+     * @param parallelism Saves to run at once, 0 for default.
+     * @throws IllegalArgumentException When neither folder nor pattern is given, or they or the addresses are not valid.
+     */
+    public @NonNull Result apply(
+            final @CheckForNull String folder,
+            final @CheckForNull String regex,
+            final @CheckForNull String addresses,
+            final boolean watchBuildResults,
+            final int parallelism
+    ) throws InterruptedException {
+
+        final Jenkins jenkins = Jenkins.get();
+        jenkins.checkPermission(Jenkins.ADMINISTER);
+
+        // Blank selection would select every job
+        final String folderName = folderName(folder);
+        final String expression = Util.fixEmptyAndTrim(regex);
+        if (folderName == null && expression == null) throw new IllegalArgumentException(
+                "Folder or regular expression is required"
+        );
+
+        final String recipients = Util.fixEmptyAndTrim(addresses);
+        if (recipients != null) {
+
+            final FormValidation validation = MailWatcherMailer.validateMailAddresses(
+                    recipients, jenkins, Jenkins.ADMINISTER
+            );
+            if (validation.kind == FormValidation.Kind.ERROR) throw new IllegalArgumentException(
+                    validation.getMessage()
+            );
+        }
+
+        // PatternSyntaxException is an IllegalArgumentException
+        final Pattern pattern = expression == null ? null : Pattern.compile(expression);
+
+        final List<Job<?, ?>> jobs = new ArrayList<>();
+        for (final Job<?, ?> job: jenkins.allItems(Job.class)) {
+            jobs.add(job);
+        }
+
+        return apply(jobs, folderName, pattern, recipients, watchBuildResults, parallelism);
+    }
+
+    /*package*/ @NonNull Result apply(
+            final @NonNull Collection<? extends Job<?, ?>> jobs,
+            final @CheckForNull String folder,
+            final @CheckForNull Pattern pattern,
+            final @CheckForNull String addresses,
+            final boolean watchBuildResults,
+            final int parallelism
+    ) throws InterruptedException {
+
+        final String prefix = folderPrefix(folder);
+        final List<Job<?, ?>> matched = new ArrayList<>();
+        for (final Job<?, ?> job: jobs) {
+
+            final String name = job.getFullName();
+            if (prefix != null && !name.startsWith(prefix)) continue;
+            if (pattern != null && !pattern.matcher(name).matches()) continue;
+
+            matched.add(job);
+        }
+
+        if (matched.isEmpty()) return new Result(0, 0, Collections.emptyList());
+
+        final AtomicInteger updated = new AtomicInteger();
+        final Queue<String> failed = new ConcurrentLinkedQueue<>();
+
+        final int threads = Math.min(matched.size(), parallelism <= 0
+                ? DEFAULT_PARALLELISM
+                : Math.min(parallelism, MAX_PARALLELISM)
+        );
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(
+                threads, threads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new NamingThreadFactory(new DaemonThreadFactory(), "Mail Watcher bulk configuration")
+        );
+
+        // Save as the user that asked for it
+        final Authentication auth = Jenkins.getAuthentication2();
+        try {
+
+            for (final Job<?, ?> job: matched) {
+                pool.execute(() -> {
+
+                    try (ACLContext ctx = ACL.as2(auth)) {
+
+                        if (configure(job, addresses, watchBuildResults)) updated.incrementAndGet();
+                    } catch (IOException | RuntimeException ex) {
+
+                        LOGGER.log(Level.WARNING, "Unable to configure watcher of " + job.getFullName(), ex);
+                        failed.add(job.getFullName());
+                    }
+                });
+            }
+
+            pool.shutdown();
+            pool.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+        } finally {
+
+            pool.shutdownNow();
+        }
+
+        final List<String> failures = new ArrayList<>(failed);
+        Collections.sort(failures);
+        return new Result(matched.size(), updated.get(), failures);
+    }
+
+    /**
+     * @return true if the job was saved, false if it was configured already.
+     */
+    private static boolean configure(
+            final @NonNull Job<?, ?> job, final @CheckForNull String addresses, final boolean watchBuildResults
+    ) throws IOException {
+
+        final WatcherJobProperty current = job.getProperty(WatcherJobProperty.class);
+        final boolean same = current == null
+                ? addresses == null
+                : Objects.equals(current.getWatcherAddresses(), addresses)
+                        && current.isWatchBuildResults() == watchBuildResults
+        ;
+        if (same) return false;
+
+        // One save for both changes, saving does not fire ItemListener.onUpdated so nobody is notified
+        try (BulkChange bc = new BulkChange(job)) {
+
+            job.removeProperty(WatcherJobProperty.class);
+            if (addresses != null) {
+
+                // Properties are bound to their owner, each job needs its own
+                final WatcherJobProperty property = new WatcherJobProperty(addresses);
+                property.setWatchBuildResults(watchBuildResults);
+                job.addProperty(property);
+            }
+            bc.commit();
+        }
+
+        return true;
+    }
+
+    /**
+     * @return Prefix of full names of jobs in the folder, null for all jobs.
+     */
+    private static @CheckForNull String folderPrefix(final @CheckForNull String folder) {
+
+        final String name = folderName(folder);
+        return name == null ? null : name + "/";
+    }
+
+    /**
+     * @return Full name of the folder without surrounding slashes, null when blank.
+     */
+    private static @CheckForNull String folderName(final @CheckForNull String folder) {
+
+        if (folder == null) return null;
+
+        return Util.fixEmpty(folder.trim().replaceAll("^/+|/+$", ""));
+    }
+
+    /**
+     * @param matched Jobs selected.
+     * @param updated Jobs saved, the rest was configured already or failed.
+     * @param failed Full names of jobs that could not be saved.
+     */
+    public record Result(int matched, int updated, @NonNull List<String> failed) {
+
+        @Override
+        public String toString() {
+
+            return String.format("Matched %d jobs, updated %d, failed %d", matched, updated, failed.size());
+        }
+    }
+}
@@ -23,23 +23,66 @@
  */
 package org.jenkinsci.plugins.mailwatcher;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
+import hudson.ExtensionList;
+import hudson.Functions;
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.model.Saveable;
 import hudson.model.TaskListener;
 import hudson.model.Computer;
+import hudson.model.ComputerSet;
 import hudson.model.Node;
+import hudson.model.PeriodicWork;
+import hudson.model.listeners.SaveableListener;
+import hudson.node_monitors.DiskSpaceMonitorDescriptor;
+import hudson.node_monitors.NodeMonitor;
+import hudson.node_monitors.ResponseTimeMonitor;
+import hudson.node_monitors.TemporarySpaceMonitor;
 import hudson.slaves.ComputerListener;
 import hudson.slaves.NodeProperty;
 import hudson.slaves.NodePropertyDescriptor;
 import hudson.slaves.OfflineCause;
+import hudson.util.ClockDifference;
 import hudson.util.DescribableList;
 import jenkins.model.Jenkins;
+import jenkins.model.NodeListener;
+import jenkins.util.Timer;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * Notify whenever Computer marked online/offline.
  * <p>
  * Sends email do the list of recipients on following events: onOffline,
  * onOnline, onTemporarilyOffline and onTemporarilyOnline.
+ * <p>
+ * When configured, events of the same kind are collected for a while and
+ * reported in a single message, grouped by node labels and recipients.
+ * <p>
+ * Recipients resolved for a node are cached by node name until the node, the
+ * global node properties or the plugin configuration changes.
+ * <p>
+ * Online status of every computer is tracked so online notifications report
+ * for how long the computer was offline, and a periodic availability report
+ * can be sent. Computers with an availability threshold are alerted on when
+ * their availability over a sliding window drops below it.
+ * <p>
+ * Offline events can be routed to different recipients by the kind of their
+ * cause, either right away or collected into a digest.
+ * <p>
+ * Computers with monitor thresholds are alerted on when the values last
+ * reported by node monitors cross them. Only the results the monitors
+ * cached are read, no call is made to the agents.
  *
  * @author ogondza
  */
@@ -49,14 +92,26 @@ public class WatcherComputerListener extends ComputerListener {
     private final MailWatcherMailer mailer;
     private final String jenkinsRootUrl;
 
+    private final EventAggregator<Batch, Notification> aggregator = new EventAggregator<>(
+            Timer::get, this::flush
+    );
+
+    private final ConcurrentMap<String, Recipients> recipientsCache = new ConcurrentHashMap<>();
+
+    private final NodeStates states = new NodeStates(System.currentTimeMillis());
+
+    private final AvailabilityAlerts alerts = new AvailabilityAlerts();
+
+    private final MonitorAlerts monitorAlerts = new MonitorAlerts();
+
     public WatcherComputerListener() {
 
-        this(
-                new MailWatcherMailer(Jenkins.get()),
-                Jenkins.get().getRootUrl()
-        );
+        this(new MailWatcherMailer(Jenkins.get()), null);
     }
 
+    /**
+     * @param jenkinsRootUrl Root URL to use in notifications, null to use the one configured.
+     */
     public WatcherComputerListener(
             final MailWatcherMailer mailer,
             final String jenkinsRootUrl
@@ -73,6 +128,7 @@ public class WatcherComputerListener extends ComputerListener {
     @Override
     public void onOffline(final Computer c) {
 
+        offline(c, null);
         getNotification().online(false)
                 .subject("marked offline")
                 .send(c)
@@ -87,7 +143,9 @@ public class WatcherComputerListener extends ComputerListener {
             return;
         }
 
+        offline(c, cause);
         getNotification().online(false)
+                .cause(cause)
                 .subject("marked offline")
                 .body(cause.toString())
                 .send(c)
@@ -98,6 +156,7 @@ public class WatcherComputerListener extends ComputerListener {
     public void onOnline(final Computer c, final TaskListener listener) {
 
         getNotification().online(true)
+                .offlineFor(online(c))
                 .subject("marked online")
                 .send(c)
         ;
@@ -109,7 +168,9 @@ public class WatcherComputerListener extends ComputerListener {
         if (cause!=null) {
             causeString = cause.toString();
         }
+        offline(c, cause);
         getNotification().online(false)
+                .cause(cause)
                 .subject("marked temporarily offline")
                 .body(causeString)
                 .send(c)
@@ -120,21 +181,356 @@ public class WatcherComputerListener extends ComputerListener {
     public void onTemporarilyOnline(final Computer c) {
 
         getNotification().online(true)
+                .offlineFor(online(c))
                 .subject("marked online (was temporarily offline)")
                 .send(c)
         ;
     }
 
+    private void offline(final @NonNull Computer c, final @CheckForNull OfflineCause cause) {
+
+        final String name = c.getName();
+        if (name == null) return;
+
+        final long now = System.currentTimeMillis();
+        states.offline(name, cause == null ? null : cause.toString(), now);
+        observe(c, name, false, now);
+    }
+
+    /**
+     * @return Milliseconds the computer was offline for, -1 if not known.
+     */
+    private long online(final @NonNull Computer c) {
+
+        final String name = c.getName();
+        if (name == null) return -1;
+
+        final long now = System.currentTimeMillis();
+        final long offlineFor = states.online(name, now);
+        observe(c, name, true, now);
+        return offlineFor;
+    }
+
+    /**
+     * Check availability and monitored values of all computers, as they change even when there are no events.
+     */
+    /*package*/ void checkComputers() {
+
+        final long now = System.currentTimeMillis();
+        for (final Computer c: Jenkins.get().getComputers()) {
+
+            final String name = c.getName();
+            if (name != null) {
+                observe(c, name, c.isOnline(), now);
+                checkMonitors(c, name);
+            }
+        }
+    }
+
+    private void checkMonitors(final @NonNull Computer c, final @NonNull String name) {
+
+        final Map<MonitorAlerts.Metric, Long> thresholds = resolve(c).monitorThresholds();
+        if (thresholds.isEmpty()) {
+
+            monitorAlerts.remove(name);
+            return;
+        }
+
+        final Map<MonitorAlerts.Metric, Long> values = monitorData(c);
+        for (final Map.Entry<MonitorAlerts.Metric, Long> threshold: thresholds.entrySet()) {
+
+            final Long value = values.get(threshold.getKey());
+            // Not monitored or not measured yet
+            if (value == null) continue;
+
+            final MonitorAlerts.Alert alert = monitorAlerts.observe(
+                    name, threshold.getKey(), value, threshold.getValue()
+            );
+            if (alert == null) continue;
+
+            final MonitorAlerts.Metric metric = alert.metric();
+            final String subject = alert.recovered()
+                    ? String.format("%s back at %s", metric.getDisplayName(), format(metric, alert.value()))
+                    : String.format("%s %s is %s %s", metric.getDisplayName(), format(metric, alert.value()),
+                            metric.isMinimum() ? "below" : "above", format(metric, alert.threshold()))
+            ;
+            getNotification().online(alert.recovered())
+                    .subject(subject)
+                    .send(c)
+            ;
+        }
+    }
+
+    /**
+     * Values node monitors last reported for the computer, read from their cache.
+     */
+    private static @NonNull Map<MonitorAlerts.Metric, Long> monitorData(final @NonNull Computer c) {
+
+        final Map<MonitorAlerts.Metric, Long> values = new EnumMap<>(MonitorAlerts.Metric.class);
+        for (final NodeMonitor monitor: ComputerSet.getMonitors()) {
+
+            final Object data = monitor.data(c);
+            if (data instanceof DiskSpaceMonitorDescriptor.DiskSpace space) {
+
+                final MonitorAlerts.Metric metric = monitor instanceof TemporarySpaceMonitor
+                        ? MonitorAlerts.Metric.TEMP_SPACE
+                        : MonitorAlerts.Metric.DISK_SPACE
+                ;
+                values.put(metric, space.getFreeSize());
+            } else if (data instanceof ClockDifference difference) {
+
+                values.put(MonitorAlerts.Metric.CLOCK_DRIFT, difference.abs());
+            } else if (data instanceof ResponseTimeMonitor.Data response) {
+
+                values.put(MonitorAlerts.Metric.RESPONSE_TIME, response.getAverage());
+            }
+        }
+
+        return values;
+    }
+
+    private static @NonNull String format(final @NonNull MonitorAlerts.Metric metric, final long value) {
+
+        return switch (metric) {
+            case DISK_SPACE, TEMP_SPACE -> Functions.humanReadableByteSize(value);
+            case CLOCK_DRIFT -> Util.getTimeSpanString(value);
+            case RESPONSE_TIME -> value + "ms";
+        };
+    }
+
+    private void observe(final @NonNull Computer c, final @NonNull String name, final boolean online, final long now) {
+
+        final Recipients resolved = resolve(c);
+        final AvailabilityAlerts.Alert alert = alerts.observe(
+                name, online, resolved.availabilityThreshold(), resolved.availabilityWindow(), now
+        );
+        if (alert == null) return;
+
+        final String subject = alert.recovered()
+                ? String.format("availability recovered to %.1f%% over %d minutes",
+                        alert.percent(), resolved.availabilityWindow())
+                : String.format("availability %.1f%% over %d minutes is below %d%%",
+                        alert.percent(), resolved.availabilityWindow(), resolved.availabilityThreshold())
+        ;
+        getNotification().online(alert.recovered())
+                .subject(subject)
+                .send(c)
+        ;
+    }
+
+    /**
+     * Forget the status of the computer that is gone.
+     */
+    /*package*/ void forget(final @NonNull String nodeName) {
+
+        states.remove(nodeName);
+        alerts.remove(nodeName);
+        monitorAlerts.remove(nodeName);
+    }
+
+    /**
+     * Send availability of computers since the last report.
+     */
+    /*package*/ void report() {
+
+        final MailWatcherConfiguration config = mailer.configuration();
+        if (config == null || config.getAvailabilityReportAddresses() == null) return;
+
+        final long start = states.getPeriodStart();
+        final long now = System.currentTimeMillis();
+        final List<NodeStates.Availability> report = states.report(now);
+        if (report.isEmpty()) return;
+
+        final StringBuilder table = new StringBuilder(String.format(
+                "Availability over the last %s%n%n", Util.getTimeSpanString(now - start)
+        ));
+        table.append(String.format("%-40s %8s %7s  %s%n", "Computer", "Online", "Outages", "Status"));
+        for (final NodeStates.Availability row: report) {
+
+            final String status = row.online()
+                    ? "online for " + Util.getTimeSpanString(row.statusMillis())
+                    : "offline for " + Util.getTimeSpanString(row.statusMillis())
+                            + (row.cause() == null ? "" : " (" + row.cause() + ")")
+            ;
+            table.append(String.format(
+                    "%-40s %7.2f%% %7d  %s%n",
+                    row.name().isEmpty() ? "(built-in)" : row.name(), 100 * row.availability(), row.outages(), status
+            ));
+        }
+
+        new Summary.Builder(mailer, jenkinsRootUrl)
+                .subject(String.format("Availability of %d computers", report.size()))
+                .body(table.toString())
+                .recipients(config.getAvailabilityReportAddresses())
+                .send(null)
+        ;
+    }
+
     private Notification.Builder getNotification() {
 
-        return new Notification.Builder(mailer, jenkinsRootUrl);
+        return new Notification.Builder(mailer, jenkinsRootUrl, aggregator, this::resolve);
+    }
+
+    /**
+     * Recipients and thresholds of the computer, cached by its name.
+     */
+    private @NonNull Recipients resolve(final @NonNull Computer computer) {
+
+        final String name = computer.getName();
+        if (name == null) return resolve(computer.getNode());
+
+        final Recipients cached = recipientsCache.get(name);
+        if (cached != null) return cached;
+
+        final Node node = computer.getNode();
+        final Recipients resolved = resolve(node);
+        // Do not remember nodes that are gone
+        if (node != null) {
+            recipientsCache.putIfAbsent(name, resolved);
+        }
+
+        return resolved;
+    }
+
+    private @NonNull Recipients resolve(final @CheckForNull Node node) {
+
+        if (node == null) return Recipients.NONE;
+
+        final WatcherNodeProperty property = getWatcherNodeProperty(node);
+
+        String online = null;
+        String offline = null;
+        int availabilityThreshold = 0;
+        int availabilityWindow = 0;
+        Map<MonitorAlerts.Metric, Long> monitorThresholds = Collections.emptyMap();
+        List<OfflineRoute> offlineRoutes = Collections.emptyList();
+        if (property!=null) {
+
+            online = property.getOnlineAddresses();
+            offline = property.getOfflineAddresses();
+            availabilityThreshold = property.getAvailabilityThreshold();
+            availabilityWindow = property.getAvailabilityWindow();
+            monitorThresholds = Collections.unmodifiableMap(property.getMonitorThresholds());
+            offlineRoutes = property.getOfflineRoutes();
+        }
+
+        final MailWatcherConfiguration config = mailer.configuration();
+        final String ruleRecipients = config == null ? null : config.getIndex().forNode(node);
+        if (config != null) {
+
+            online = MailWatcherMailer.mergeAddresses(online, ruleRecipients);
+            offline = MailWatcherMailer.mergeAddresses(offline, ruleRecipients);
+        }
+
+        final Map<OfflineRoute.Kind, Route> routes = new EnumMap<>(OfflineRoute.Kind.class);
+        for (final OfflineRoute route: offlineRoutes) {
+
+            // First route for the kind wins
+            routes.putIfAbsent(route.getKind(), new Route(
+                    MailWatcherMailer.mergeAddresses(route.getAddresses(), ruleRecipients), route.isDigest()
+            ));
+        }
+
+        final String labels = node.getLabelString();
+        return new Recipients(
+                online, offline, labels == null ? "" : labels, availabilityThreshold, availabilityWindow,
+                monitorThresholds, Collections.unmodifiableMap(routes)
+        );
+    }
+
+    private static WatcherNodeProperty getWatcherNodeProperty(
+            final @NonNull Node node
+    ) {
+
+        final DescribableList<NodeProperty<?>, NodePropertyDescriptor> properties;
+        if (node instanceof Jenkins) {
+            DescribableList<NodeProperty<?>, NodePropertyDescriptor> properties1 = ((Jenkins) node).getGlobalNodeProperties();
+            if (properties1 == null || properties1.isEmpty()) {
+                properties = node.getNodeProperties();
+            }
+            else {
+                properties = properties1;
+            }
+        }
+        else properties = node.getNodeProperties();
+
+        return properties.get(WatcherNodeProperty.class);
+    }
+
+    /**
+     * Forget recipients resolved for the node, or for all nodes if name not provided.
+     */
+    /*package*/ void invalidate(final @CheckForNull String nodeName) {
+
+        if (nodeName == null) {
+
+            recipientsCache.clear();
+        } else {
+
+            recipientsCache.remove(nodeName);
+        }
+    }
+
+    private void flush(final Batch batch, final List<Notification> notifications) {
+
+        if (notifications.size() == 1) {
+
+            notifications.get(0).send();
+            return;
+        }
+
+        final StringBuilder table = new StringBuilder();
+        for (final Notification notification: notifications) {
+
+            table.append(String.format("%-40s %s%n", notification.getName(), notification.getBody()));
+        }
+
+        final String subject = batch.labels().isEmpty()
+                ? String.format("%d computers %s", notifications.size(), batch.event())
+                : String.format("%d computers labeled '%s' %s", notifications.size(), batch.labels(), batch.event())
+        ;
+
+        new Summary.Builder(mailer, jenkinsRootUrl)
+                .subject(subject)
+                .body(table.toString())
+                .recipients(batch.recipients())
+                .send(null)
+        ;
+    }
+
+    /**
+     * Notifications to be reported together.
+     */
+    private record Batch(String event, String labels, String recipients) {}
+
+    /**
+     * Recipients and thresholds resolved for a node.
+     */
+    private record Recipients(
+            String online, String offline, String labels, int availabilityThreshold, int availabilityWindow,
+            Map<MonitorAlerts.Metric, Long> monitorThresholds, Map<OfflineRoute.Kind, Route> offlineRoutes
+    ) {
+
+        private static final Recipients NONE = new Recipients(
+                null, null, "", 0, 0, Collections.emptyMap(), Collections.emptyMap()
+        );
     }
 
+    /**
+     * Recipients of offline events with a cause of some kind.
+     */
+    private record Route(String recipients, boolean digest) {}
+
     private static class Notification extends MailWatcherNotification {
 
+        private final String labels;
+        private final long offlineFor;
+
         public Notification(final Builder builder) {
 
             super(builder);
+            this.labels = builder.labels;
+            this.offlineFor = builder.offlineFor;
         }
 
         @Override
@@ -143,13 +539,42 @@ public class WatcherComputerListener extends ComputerListener {
             return String.format("Computer %s %s", getName(), super.getSubject());
         }
 
+        @Override
+        protected @NonNull Map<String, String> pairs() {
+
+            final Map<String, String> pairs = super.pairs();
+            if (offlineFor >= 0) {
+                pairs.put("Offline for", Util.getTimeSpanString(offlineFor));
+            }
+
+            return pairs;
+        }
+
+        private Batch batch() {
+
+            return new Batch(super.getSubject(), labels, getRecipients());
+        }
+
         private static class Builder extends MailWatcherNotification.Builder {
 
-            private boolean online;
+            private final EventAggregator<Batch, Notification> aggregator;
+            private final Function<Computer, Recipients> resolver;
 
-            public Builder(final MailWatcherMailer mailer, final String jenkinsRootUrl) {
+            private boolean online;
+            private OfflineRoute.Kind cause;
+            private String labels = "";
+            private long offlineFor = -1;
+
+            public Builder(
+                    final MailWatcherMailer mailer,
+                    final String jenkinsRootUrl,
+                    final EventAggregator<Batch, Notification> aggregator,
+                    final Function<Computer, Recipients> resolver
+            ) {
 
                 super(mailer, jenkinsRootUrl);
+                this.aggregator = aggregator;
+                this.resolver = resolver;
             }
 
             public Builder online(final boolean online) {
@@ -158,48 +583,176 @@ public class WatcherComputerListener extends ComputerListener {
                 return this;
             }
 
+            public Builder cause(final @CheckForNull OfflineCause cause) {
+
+                this.cause = cause == null ? null : OfflineRoute.classify(cause);
+                return this;
+            }
+
+            public Builder offlineFor(final long offlineFor) {
+
+                this.offlineFor = offlineFor;
+                return this;
+            }
+
             @Override
             public void send(final Object o) {
 
                 final Computer computer = (Computer) o;
 
-                final WatcherNodeProperty property = getWatcherNodeProperty(computer);
+                final Recipients resolved = resolver.apply(computer);
+                final Route route = this.online || this.cause == null ? null : resolved.offlineRoutes().get(this.cause);
+                if (route != null) {
 
-                if (property!=null) {
+                    this.recipients(route.recipients());
+                } else {
 
-                    final String recipients = this.online
-                            ? property.getOnlineAddresses()
-                            : property.getOfflineAddresses()
-                    ;
-                    this.recipients(recipients);
+                    this.recipients(this.online ? resolved.online() : resolved.offline());
                 }
+                this.labels = resolved.labels();
 
                 url(computer.getUrl());
                 name(computer.getDisplayName());
 
-                new Notification(this).send();
-            }
+                final Notification notification = new Notification(this);
 
-            private static WatcherNodeProperty getWatcherNodeProperty(
-                    final Computer computer
-            ) {
+                // Routed events are either collected into a digest or urgent enough to skip the node event window
+                final long window = route == null
+                        ? aggregationWindow()
+                        : route.digest() ? digestWindow() : 0
+                ;
+                if (window > 0 && notification.shouldNotify()) {
 
-                final Node node = computer.getNode();
-                if (node==null) return null;
-
-                final DescribableList<NodeProperty<?>, NodePropertyDescriptor> properties;
-                if (node instanceof Jenkins) {
-                    DescribableList<NodeProperty<?>, NodePropertyDescriptor> properties1 = ((Jenkins) node).getGlobalNodeProperties();
-                    if (properties1 == null || properties1.isEmpty()) {
-                        properties = node.getNodeProperties();
-                    }
-                    else {
-                        properties = properties1;
-                    }
+                    aggregator.add(notification.batch(), notification, window);
+                    return;
                 }
-                else properties = node.getNodeProperties();
 
-                return properties.get(WatcherNodeProperty.class);
+                notification.send();
+            }
+
+            private long digestWindow() {
+
+                final MailWatcherConfiguration config = mailer.configuration();
+                return config == null
+                        ? 0
+                        : TimeUnit.MINUTES.toMillis(config.getOfflineDigestMinutes())
+                ;
+            }
+
+            private long aggregationWindow() {
+
+                final MailWatcherConfiguration config = mailer.configuration();
+                return config == null
+                        ? 0
+                        : TimeUnit.SECONDS.toMillis(config.getNodeEventWindow())
+                ;
+            }
+        }
+    }
+
+    /**
+     * Several node events reported at once.
+     */
+    private static class Summary extends MailWatcherNotification {
+
+        public Summary(final Builder builder) {
+
+            super(builder);
+        }
+
+        private static class Builder extends MailWatcherNotification.Builder {
+
+            public Builder(final MailWatcherMailer mailer, final String jenkinsRootUrl) {
+
+                super(mailer, jenkinsRootUrl);
+            }
+
+            @Override
+            public void send(final Object o) {
+
+                url("computer/");
+                name("computers");
+
+                new Summary(this).send();
+            }
+        }
+    }
+
+    @Extension
+    public static class NodeChanges extends NodeListener {
+
+        @Override
+        protected void onCreated(@NonNull Node node) {
+
+            ExtensionList.lookupSingleton(WatcherComputerListener.class).invalidate(node.getNodeName());
+        }
+
+        @Override
+        protected void onUpdated(@NonNull Node oldOne, @NonNull Node newOne) {
+
+            final WatcherComputerListener listener = ExtensionList.lookupSingleton(WatcherComputerListener.class);
+            listener.invalidate(oldOne.getNodeName());
+            listener.invalidate(newOne.getNodeName());
+        }
+
+        @Override
+        protected void onDeleted(@NonNull Node node) {
+
+            final WatcherComputerListener listener = ExtensionList.lookupSingleton(WatcherComputerListener.class);
+            listener.invalidate(node.getNodeName());
+            listener.forget(node.getNodeName());
+        }
+    }
+
+    /**
+     * Node monitors refresh their data on their own schedule, this only reads what they cached.
+     */
+    @Extension
+    public static class AvailabilityCheck extends PeriodicWork {
+
+        @Override
+        public long getRecurrencePeriod() {
+
+            return TimeUnit.MINUTES.toMillis(1);
+        }
+
+        @Override
+        protected void doRun() {
+
+            ExtensionList.lookupSingleton(WatcherComputerListener.class).checkComputers();
+        }
+    }
+
+    @Extension
+    public static class AvailabilityReport extends PeriodicWork {
+
+        @Override
+        public long getRecurrencePeriod() {
+
+            return TimeUnit.DAYS.toMillis(1);
+        }
+
+        @Override
+        protected void doRun() {
+
+            ExtensionList.lookupSingleton(WatcherComputerListener.class).report();
+        }
+    }
+
+    @Extension
+    public static class ConfigurationChanges extends SaveableListener {
+
+        @Override
+        public void onChange(final Saveable o, final XmlFile file) {
+
+            // Covers Jenkins itself holding the global node properties
+            if (o instanceof Node) {
+
+                ExtensionList.lookupSingleton(WatcherComputerListener.class).invalidate(((Node) o).getNodeName());
+            } else if (o instanceof MailWatcherConfiguration) {
+
+                // Rules might have changed for any node
+                ExtensionList.lookupSingleton(WatcherComputerListener.class).invalidate(null);
             }
         }
     }
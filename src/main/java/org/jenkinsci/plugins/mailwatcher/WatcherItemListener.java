@@ -23,6 +23,7 @@
  */
 package org.jenkinsci.plugins.mailwatcher;
 
+import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
 import hudson.model.Item;
@@ -30,33 +31,64 @@ import hudson.model.ItemGroup;
 import hudson.model.Job;
 import hudson.model.listeners.ItemListener;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import jenkins.model.Jenkins;
 
+import org.jenkinsci.plugins.mailwatcher.jobConfigHistory.ConfigHistory;
+
 /**
  * Notify whenever Job configuration changes.
  * <p>
  * Sends email to the list of recipients on following events: onRenamed,
- * onUpdated and onDeleted.
+ * onUpdated and onDeleted. Items other than jobs are watched when there is
+ * a {@link WatchedItemType} for them.
  *
  * @author ogondza
  */
 @Extension
 public class WatcherItemListener extends ItemListener {
 
+    private static final Logger LOGGER = Logger.getLogger(WatcherItemListener.class.getName());
+
+    private static final int DIFF_CACHE_SIZE = 32;
+
     private final @NonNull MailWatcherMailer mailer;
     private final String jenkinsRootUrl;
 
+    // Last seen config.xml digest by job full name
+    private final ConcurrentMap<String, Long> configDigests = new ConcurrentHashMap<>();
+
+    // Diffs by job and revision pair, shared by all messages of the change
+    private final Map<String, String> diffs = Collections.synchronizedMap(
+            new LinkedHashMap<>(DIFF_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<String, String> eldest) {
+
+                    return size() > DIFF_CACHE_SIZE;
+                }
+            }
+    );
+
     public WatcherItemListener() {
 
-        this(
-                new MailWatcherMailer(Jenkins.get()),
-                Jenkins.get().getRootUrl()
-        );
+        this(new MailWatcherMailer(Jenkins.get()), null);
     }
 
+    /**
+     * @param jenkinsRootUrl Root URL to use in notifications, null to use the one configured.
+     */
     public WatcherItemListener(
             @NonNull final MailWatcherMailer mailer,
             final String jenkinsRootUrl
@@ -73,99 +105,238 @@ public class WatcherItemListener extends ItemListener {
     @Override
     public void onRenamed(Item item, String oldName, String newName) {
 
-        if (!(item instanceof Job<?, ?>)) return;
-
-        final Job<?, ?> job = (Job<?, ?>) item;
+        final WatchedItemType type = WatchedItemType.of(item);
+        if (type == null) return;
 
-        getNotification().subject("renamed from " + oldName).send(job);
+        getNotification(type).subject("renamed from " + oldName).send(item);
     }
 
     @Override
     public void onUpdated(Item item) {
 
-        if (!(item instanceof Job<?, ?>)) return;
+        final WatchedItemType type = WatchedItemType.of(item);
+        if (type == null) return;
 
-        getNotification().subject("updated").send(item);
+        final Long digest = configDigest(item);
+        if (digest != null && digest.equals(configDigests.put(item.getFullName(), digest))) {
+
+            LOGGER.log(Level.FINE, "Configuration of {0} saved without change", item.getFullName());
+            return;
+        }
+
+        getNotification(type)
+                .configDiff()
+                .revision(digest == null ? null : Long.toHexString(digest))
+                .subject("updated")
+                .send(item)
+        ;
     }
 
     @Override
     public void onDeleted(Item item) {
 
-        if (!(item instanceof Job<?, ?>)) return;
+        final WatchedItemType type = WatchedItemType.of(item);
+        if (type == null) return;
+
+        if (item.getFullName() != null) configDigests.remove(item.getFullName());
 
-        getNotification().subject("deleted").send(item);
+        getNotification(type).subject("deleted").send(item);
     }
 
-    private Notification.Builder getNotification() {
+    @Override
+    public void onLocationChanged(Item item, String oldFullName, String newFullName) {
 
-        return new Notification.Builder(mailer, jenkinsRootUrl);
+        final Long digest = configDigests.remove(oldFullName);
+        if (digest != null) configDigests.put(newFullName, digest);
+    }
+
+    /**
+     * @return Digest of config.xml, null if not available.
+     */
+    private @CheckForNull Long configDigest(final Item item) {
+
+        final File root = item.getRootDir();
+        if (root == null || item.getFullName() == null) return null;
+
+        final Path config = root.toPath().resolve("config.xml");
+        if (!Files.isRegularFile(config)) return null;
+
+        try {
+
+            return ConfigDigest.of(config);
+        } catch (IOException ex) {
+
+            LOGGER.log(Level.FINE, "Unable to read " + config, ex);
+            return null;
+        }
+    }
+
+    private Notification.Builder getNotification(final @NonNull WatchedItemType type) {
+
+        return new Notification.Builder(mailer, jenkinsRootUrl, type, diffs);
     }
 
     private static class Notification extends MailWatcherNotification {
 
-        private final @NonNull Job<?, ?> job;
+        private final @NonNull Item item;
+        private final @NonNull WatchedItemType type;
+        // Configuration history is recorded for jobs only
+        private final @CheckForNull Job<?, ?> job;
+        private final boolean configDiff;
+        private final String revision;
+        private final @NonNull Map<String, String> diffs;
 
         public Notification(final Builder builder) {
 
             super(builder);
-            job = builder.job;
+            item = builder.item;
+            type = builder.type;
+            job = item instanceof Job<?, ?> ? (Job<?, ?>) item : null;
+            configDiff = builder.configDiff;
+            revision = builder.revision;
+            diffs = builder.diffs;
         }
 
         @Override
         protected String getSubject() {
 
-            return String.format("Job %s %s", getName (), super.getSubject());
+            return String.format("%s %s %s", type.getDisplayName(), getName (), super.getSubject());
         }
 
         @Override
         protected @NonNull Map<String, String> pairs() {
             final Map<String, String> pairs = super.pairs();
+            if (job == null) return pairs;
 
             final String historyUrl = mailer.configHistory().lastChangeDiffUrl(job);
             if (historyUrl != null) {
 
-                pairs.put("Change", mailer.absoluteUrl(historyUrl).toString());
+                pairs.put("Change", mailer.absoluteUrl(historyUrl));
             }
 
             return pairs;
         }
 
+        @Override
+        protected String getRevision() {
+
+            if (job == null) return revision;
+
+            final ConfigHistory.Change change = mailer.configHistory().lastChange(job);
+            return change == null ? revision : change.getTo();
+        }
+
+        // Computed when the notification is sent, not sooner
+        @Override
+        protected String getBody() {
+
+            if (!configDiff || job == null) return super.getBody();
+
+            final MailWatcherConfiguration config = mailer.configuration();
+            if (config == null || !config.isInlineConfigDiff()) return super.getBody();
+
+            final ConfigHistory.Change change = mailer.configHistory().lastChange(job);
+            if (change == null) return super.getBody();
+
+            final String key = job.getFullName() + '@' + change.getFrom() + ".." + change.getTo();
+            String diff = diffs.get(key);
+            if (diff == null) {
+
+                diff = diff(change, config.getConfigDiffLimit());
+                if (diff == null) return super.getBody();
+
+                diffs.put(key, diff);
+            }
+
+            return super.getBody() + diff;
+        }
+
+        private String diff(final ConfigHistory.Change change, final int limit) {
+
+            final File from = change.file(change.getFrom());
+            final File to = change.file(change.getTo());
+            if (from == null || to == null) return null;
+
+            try {
+
+                return ConfigDiff.unified(
+                        from.toPath(), change.getFrom() + "/config.xml",
+                        to.toPath(), change.getTo() + "/config.xml",
+                        limit
+                );
+            } catch (IOException ex) {
+
+                LOGGER.log(Level.INFO, "Unable to diff configuration of " + job.getFullName(), ex);
+                return null;
+            }
+        }
+
         private static class Builder extends MailWatcherNotification.Builder {
 
-            private Job<?, ?> job;
+            private Item item;
+            private final @NonNull WatchedItemType type;
+            private boolean configDiff;
+            private String revision;
+            private final @NonNull Map<String, String> diffs;
 
-            public Builder(final MailWatcherMailer mailer, final String jenkinsRootUrl) {
+            public Builder(
+                    final MailWatcherMailer mailer,
+                    final String jenkinsRootUrl,
+                    final @NonNull WatchedItemType type,
+                    final @NonNull Map<String, String> diffs
+            ) {
 
                 super(mailer, jenkinsRootUrl);
+                this.type = type;
+                this.diffs = diffs;
+            }
+
+            public Builder configDiff() {
+
+                this.configDiff = true;
+                return this;
+            }
+
+            public Builder revision(final String revision) {
+
+                this.revision = revision;
+                return this;
             }
 
             @Override
             public void send(final Object o) {
 
-                job = (Job<?, ?>) o;
+                item = (Item) o;
 
-                final WatcherJobProperty property = job.getProperty(
-                        WatcherJobProperty.class
-                );
+                final EffectiveRecipients effective = mailer.effectiveRecipients();
+                String recipients = effective == null
+                        ? type.getWatcherAddresses(item)
+                        : effective.of(item)
+                ;
 
-                if (property!=null) {
+                final MailWatcherConfiguration config = mailer.configuration();
+                if (config != null) {
 
-                    recipients(property.getWatcherAddresses());
+                    recipients = MailWatcherMailer.mergeAddresses(
+                            recipients, config.getIndex().forItem(item.getFullName())
+                    );
                 }
 
+                recipients(recipients);
+
                 Stack<String> stack = new Stack<>();
-                stack.push(job.getShortUrl());
-                ItemGroup<?> parent = job.getParent();
-                while (parent instanceof Item item) {
-                    stack.push(item.getShortUrl());
-                    parent = item.getParent();
+                stack.push(item.getShortUrl());
+                ItemGroup<?> parent = item.getParent();
+                while (parent instanceof Item ancestor) {
+                    stack.push(ancestor.getShortUrl());
+                    parent = ancestor.getParent();
                 }
                 StringBuilder urlPath = new StringBuilder();
                 while (!stack.isEmpty()) {
                     urlPath.append(stack.pop());
                 }
                 url(urlPath.toString());
-                name(job.getFullDisplayName());
+                name(item.getFullDisplayName());
 
                 new Notification(this).send();
             }
@@ -25,15 +25,19 @@ package org.jenkinsci.plugins.mailwatcher;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
+import hudson.model.Item;
 import hudson.model.JobProperty;
 import hudson.model.JobPropertyDescriptor;
 import hudson.model.Job;
 import hudson.util.FormValidation;
 import net.sf.json.JSONObject;
 
+import org.kohsuke.stapler.AncestorInPath;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.verb.POST;
 
 /**
  * Configure list of email addresses as a property of a Job to be used for
@@ -45,6 +49,8 @@ public class WatcherJobProperty extends JobProperty<Job<?, ?>> {
 
     private final String watcherAddresses;
 
+    private boolean watchBuildResults;
+
     @DataBoundConstructor
     public WatcherJobProperty(final String watcherAddresses) {
 
@@ -56,6 +62,20 @@ public class WatcherJobProperty extends JobProperty<Job<?, ?>> {
         return watcherAddresses;
     }
 
+    /**
+     * Notify recipients when build result changes, on top of configuration changes.
+     */
+    public boolean isWatchBuildResults() {
+
+        return watchBuildResults;
+    }
+
+    @DataBoundSetter
+    public void setWatchBuildResults(final boolean watchBuildResults) {
+
+        this.watchBuildResults = watchBuildResults;
+    }
+
     @Extension
     public static class DescriptorImpl extends JobPropertyDescriptor {
 
@@ -79,12 +99,18 @@ public class WatcherJobProperty extends JobProperty<Job<?, ?>> {
             final String addresses = watcherData.getString( "watcherAddresses" );
             if (addresses == null || addresses.isEmpty()) return null;
 
-            return new WatcherJobProperty(addresses);
+            final WatcherJobProperty property = new WatcherJobProperty(addresses);
+            property.setWatchBuildResults(watcherData.optBoolean("watchBuildResults"));
+
+            return property;
         }
 
-        public FormValidation doCheckWatcherAddresses(@QueryParameter String value) {
+        @POST
+        public FormValidation doCheckWatcherAddresses(
+                @AncestorInPath Item item, @QueryParameter String value
+        ) {
 
-            return MailWatcherMailer.validateMailAddresses(value);
+            return MailWatcherMailer.validateMailAddresses(value, item, Item.CONFIGURE);
         }
 
         @Override @NonNull
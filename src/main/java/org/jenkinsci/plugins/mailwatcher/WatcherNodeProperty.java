@@ -25,15 +25,27 @@ package org.jenkinsci.plugins.mailwatcher;
 
 import edu.umd.cs.findbugs.annotations.NonNull;
 import hudson.Extension;
+import hudson.model.Computer;
 import hudson.model.Node;
 import hudson.slaves.NodeProperty;
 import hudson.slaves.NodePropertyDescriptor;
 import hudson.util.FormValidation;
+import net.sf.json.JSONArray;
 import net.sf.json.JSONObject;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.kohsuke.stapler.AncestorInPath;
 import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.DataBoundSetter;
 import org.kohsuke.stapler.QueryParameter;
 import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.verb.POST;
 
 /**
  * Configure list of email addresses as a property of a Node to be used for
@@ -46,6 +58,45 @@ public class WatcherNodeProperty extends NodeProperty<Node> {
     private final String onlineAddresses;
     private final String offlineAddresses;
 
+    /**
+     * Percentage of the window the node is expected to be online, 0 for no expectation.
+     */
+    private int availabilityThreshold;
+
+    /**
+     * Minutes to compute the availability over.
+     */
+    private int availabilityWindow = DEFAULT_AVAILABILITY_WINDOW;
+
+    /**
+     * Free disk space in MiB, as seen by the disk space monitor, to alert below, 0 not to watch it.
+     */
+    private int diskSpaceThreshold;
+
+    /**
+     * Free temporary space in MiB, as seen by the temporary space monitor, to alert below, 0 not to watch it.
+     */
+    private int tempSpaceThreshold;
+
+    /**
+     * Clock difference in seconds, as seen by the clock monitor, to alert above, 0 not to watch it.
+     */
+    private int clockDriftThreshold;
+
+    /**
+     * Average response time in milliseconds, as seen by the response time monitor, to alert above, 0 not to watch it.
+     */
+    private int responseTimeThreshold;
+
+    /**
+     * Recipients of offline events by the kind of their cause, overriding offline addresses.
+     */
+    private List<OfflineRoute> offlineRoutes = new ArrayList<>();
+
+    /*package*/ static final int DEFAULT_AVAILABILITY_WINDOW = 60;
+    /*package*/ static final int MAX_AVAILABILITY_WINDOW = 7 * 24 * 60;
+    private static final long MIB = 1024 * 1024;
+
     @DataBoundConstructor
     public WatcherNodeProperty(
             final String onlineAddresses, final String offlineAddresses
@@ -65,11 +116,122 @@ public class WatcherNodeProperty extends NodeProperty<Node> {
         return offlineAddresses;
     }
 
+    public int getAvailabilityThreshold() {
+
+        return availabilityThreshold;
+    }
+
+    @DataBoundSetter
+    public void setAvailabilityThreshold(final int availabilityThreshold) {
+
+        this.availabilityThreshold = Math.max(0, Math.min(100, availabilityThreshold));
+    }
+
+    public int getAvailabilityWindow() {
+
+        // Not present in properties saved by older versions
+        return availabilityWindow <= 0 ? DEFAULT_AVAILABILITY_WINDOW : availabilityWindow;
+    }
+
+    @DataBoundSetter
+    public void setAvailabilityWindow(final int availabilityWindow) {
+
+        this.availabilityWindow = Math.max(1, Math.min(MAX_AVAILABILITY_WINDOW, availabilityWindow));
+    }
+
+    public int getDiskSpaceThreshold() {
+
+        return diskSpaceThreshold;
+    }
+
+    @DataBoundSetter
+    public void setDiskSpaceThreshold(final int diskSpaceThreshold) {
+
+        this.diskSpaceThreshold = Math.max(0, diskSpaceThreshold);
+    }
+
+    public int getTempSpaceThreshold() {
+
+        return tempSpaceThreshold;
+    }
+
+    @DataBoundSetter
+    public void setTempSpaceThreshold(final int tempSpaceThreshold) {
+
+        this.tempSpaceThreshold = Math.max(0, tempSpaceThreshold);
+    }
+
+    public int getClockDriftThreshold() {
+
+        return clockDriftThreshold;
+    }
+
+    @DataBoundSetter
+    public void setClockDriftThreshold(final int clockDriftThreshold) {
+
+        this.clockDriftThreshold = Math.max(0, clockDriftThreshold);
+    }
+
+    public int getResponseTimeThreshold() {
+
+        return responseTimeThreshold;
+    }
+
+    @DataBoundSetter
+    public void setResponseTimeThreshold(final int responseTimeThreshold) {
+
+        this.responseTimeThreshold = Math.max(0, responseTimeThreshold);
+    }
+
+    public @NonNull List<OfflineRoute> getOfflineRoutes() {
+
+        // Not present in properties saved by older versions
+        return offlineRoutes == null
+                ? Collections.emptyList()
+                : Collections.unmodifiableList(offlineRoutes)
+        ;
+    }
+
+    @DataBoundSetter
+    public void setOfflineRoutes(final List<OfflineRoute> offlineRoutes) {
+
+        this.offlineRoutes = offlineRoutes == null ? new ArrayList<>() : new ArrayList<>(offlineRoutes);
+    }
+
+    /**
+     * Monitor thresholds configured, in bytes and milliseconds.
+     */
+    /*package*/ @NonNull Map<MonitorAlerts.Metric, Long> getMonitorThresholds() {
+
+        final Map<MonitorAlerts.Metric, Long> thresholds = new EnumMap<>(MonitorAlerts.Metric.class);
+        if (diskSpaceThreshold > 0) {
+            thresholds.put(MonitorAlerts.Metric.DISK_SPACE, diskSpaceThreshold * MIB);
+        }
+        if (tempSpaceThreshold > 0) {
+            thresholds.put(MonitorAlerts.Metric.TEMP_SPACE, tempSpaceThreshold * MIB);
+        }
+        if (clockDriftThreshold > 0) {
+            thresholds.put(MonitorAlerts.Metric.CLOCK_DRIFT, TimeUnit.SECONDS.toMillis(clockDriftThreshold));
+        }
+        if (responseTimeThreshold > 0) {
+            thresholds.put(MonitorAlerts.Metric.RESPONSE_TIME, (long) responseTimeThreshold);
+        }
+
+        return thresholds;
+    }
+
     @Extension
     public static class DescriptorImpl extends NodePropertyDescriptor {
 
         public static final String OFFLINE_ADDRESSES = "offlineAddresses";
         public static final String ONLINE_ADDRESSES = "onlineAddresses";
+        public static final String AVAILABILITY_THRESHOLD = "availabilityThreshold";
+        public static final String AVAILABILITY_WINDOW = "availabilityWindow";
+        public static final String DISK_SPACE_THRESHOLD = "diskSpaceThreshold";
+        public static final String TEMP_SPACE_THRESHOLD = "tempSpaceThreshold";
+        public static final String CLOCK_DRIFT_THRESHOLD = "clockDriftThreshold";
+        public static final String RESPONSE_TIME_THRESHOLD = "responseTimeThreshold";
+        public static final String OFFLINE_ROUTES = "offlineRoutes";
 
         @Override
         public boolean isApplicable(Class<? extends Node> nodeType) {
@@ -89,19 +251,79 @@ public class WatcherNodeProperty extends NodeProperty<Node> {
             assert onlineAddresses != null;
             assert offlineAddresses != null;
 
-            if (onlineAddresses.isEmpty() && offlineAddresses.isEmpty()) return null;
+            final int availabilityThreshold = formData.optInt(AVAILABILITY_THRESHOLD, 0);
+
+            final WatcherNodeProperty property = new WatcherNodeProperty(onlineAddresses, offlineAddresses);
+            property.setAvailabilityThreshold(availabilityThreshold);
+            property.setAvailabilityWindow(formData.optInt(AVAILABILITY_WINDOW, DEFAULT_AVAILABILITY_WINDOW));
+            property.setDiskSpaceThreshold(formData.optInt(DISK_SPACE_THRESHOLD, 0));
+            property.setTempSpaceThreshold(formData.optInt(TEMP_SPACE_THRESHOLD, 0));
+            property.setClockDriftThreshold(formData.optInt(CLOCK_DRIFT_THRESHOLD, 0));
+            property.setResponseTimeThreshold(formData.optInt(RESPONSE_TIME_THRESHOLD, 0));
+            property.setOfflineRoutes(offlineRoutes(formData.opt(OFFLINE_ROUTES)));
+
+            if (onlineAddresses.isEmpty() && offlineAddresses.isEmpty() && availabilityThreshold <= 0
+                    && property.getMonitorThresholds().isEmpty() && property.getOfflineRoutes().isEmpty()
+            ) return null;
 
-            return new WatcherNodeProperty(onlineAddresses, offlineAddresses);
+            return property;
         }
 
-        public FormValidation doCheckOnlineAddresses(@QueryParameter String value) {
+        /**
+         * Routes are submitted as an object when there is just one.
+         */
+        private static @NonNull List<OfflineRoute> offlineRoutes(final Object json) {
+
+            final List<OfflineRoute> routes = new ArrayList<>();
+            if (json instanceof JSONObject) {
+
+                routes.add(offlineRoute((JSONObject) json));
+            } else if (json instanceof JSONArray) {
 
-            return MailWatcherMailer.validateMailAddresses(value);
+                for (Object route: (JSONArray) json) {
+                    routes.add(offlineRoute((JSONObject) route));
+                }
+            }
+
+            return routes;
         }
 
-        public FormValidation doCheckOfflineAddresses(@QueryParameter String value) {
+        private static @NonNull OfflineRoute offlineRoute(final @NonNull JSONObject json) {
+
+            OfflineRoute.Kind kind;
+            try {
+
+                kind = OfflineRoute.Kind.valueOf(json.optString("kind"));
+            } catch (IllegalArgumentException ex) {
+
+                kind = OfflineRoute.Kind.OTHER;
+            }
+
+            return new OfflineRoute(kind, json.optString("addresses"), json.optBoolean("digest"));
+        }
+
+        @POST
+        public FormValidation doCheckOnlineAddresses(
+                @AncestorInPath Computer computer, @QueryParameter String value
+        ) {
+
+            return MailWatcherMailer.validateMailAddresses(value, computer, Computer.CONFIGURE);
+        }
+
+        @POST
+        public FormValidation doCheckOfflineAddresses(
+                @AncestorInPath Computer computer, @QueryParameter String value
+        ) {
+
+            return MailWatcherMailer.validateMailAddresses(value, computer, Computer.CONFIGURE);
+        }
+
+        public FormValidation doCheckAvailabilityThreshold(@QueryParameter int value) {
+
+            if (value < 0 || value > 100) return FormValidation.error("Threshold is a percentage between 0 and 100");
+            if (value == 0) return FormValidation.ok("Availability is not watched");
 
-            return MailWatcherMailer.validateMailAddresses(value);
+            return FormValidation.ok();
         }
 
         @Override @NonNull
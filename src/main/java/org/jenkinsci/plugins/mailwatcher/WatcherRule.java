@@ -0,0 +1,132 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.Util;
+import hudson.model.AbstractDescribableImpl;
+import hudson.model.Descriptor;
+import hudson.model.Label;
+import hudson.util.FormValidation;
+import hudson.util.ListBoxModel;
+
+import jenkins.model.Jenkins;
+
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.verb.POST;
+
+/**
+ * Globally configured recipients for all jobs in a folder or all nodes matching a label expression.
+ */
+public class WatcherRule extends AbstractDescribableImpl<WatcherRule> {
+
+    public enum Type {
+        FOLDER("Jobs in folder"),
+        LABEL("Nodes matching label expression");
+
+        private final String displayName;
+
+        Type(final String displayName) {
+
+            this.displayName = displayName;
+        }
+
+        public String getDisplayName() {
+
+            return displayName;
+        }
+    }
+
+    private final @NonNull Type type;
+    private final @NonNull String pattern;
+    private final @NonNull String addresses;
+
+    @DataBoundConstructor
+    public WatcherRule(final Type type, final String pattern, final String addresses) {
+
+        this.type = type == null ? Type.FOLDER : type;
+        this.pattern = Util.fixNull(pattern).trim();
+        this.addresses = Util.fixNull(addresses).trim();
+    }
+
+    public @NonNull Type getType() {
+
+        return type;
+    }
+
+    /**
+     * Folder full name or label expression, depending on type.
+     */
+    public @NonNull String getPattern() {
+
+        return pattern;
+    }
+
+    public @NonNull String getAddresses() {
+
+        return addresses;
+    }
+
+    @Extension
+    public static class DescriptorImpl extends Descriptor<WatcherRule> {
+
+        public ListBoxModel doFillTypeItems() {
+
+            final ListBoxModel items = new ListBoxModel();
+            for (Type type: Type.values()) {
+                items.add(type.getDisplayName(), type.name());
+            }
+
+            return items;
+        }
+
+        public FormValidation doCheckPattern(@QueryParameter String type, @QueryParameter String value) {
+
+            if (!Type.LABEL.name().equals(type) || Util.fixEmptyAndTrim(value) == null) return FormValidation.ok();
+
+            try {
+
+                Label.parseExpression(value);
+                return FormValidation.ok();
+            } catch (IllegalArgumentException ex) {
+
+                return FormValidation.error("Invalid label expression: " + ex.getMessage());
+            }
+        }
+
+        @POST
+        public FormValidation doCheckAddresses(@QueryParameter String value) {
+
+            return MailWatcherMailer.validateMailAddresses(value, null, Jenkins.ADMINISTER);
+        }
+
+        @Override @NonNull
+        public String getDisplayName() {
+
+            return "Watcher rule";
+        }
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.console.ConsoleNote;
+import hudson.model.Job;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.model.listeners.RunListener;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Notify whenever build result changes.
+ * <p>
+ * Sends email to the recipients of {@link WatcherJobProperty} that opted in when
+ * build result differs from the result of previous completed build. The message
+ * contains the end of the console log.
+ */
+@Extension
+public class WatcherRunListener extends RunListener<Run<?, ?>> {
+
+    private static final Logger LOGGER = Logger.getLogger(WatcherRunListener.class.getName());
+
+    private final @NonNull MailWatcherMailer mailer;
+    private final String jenkinsRootUrl;
+
+    public WatcherRunListener() {
+
+        this(new MailWatcherMailer(Jenkins.get()), null);
+    }
+
+    /**
+     * @param jenkinsRootUrl Root URL to use in notifications, null to use the one configured.
+     */
+    public WatcherRunListener(
+            @NonNull final MailWatcherMailer mailer,
+            final String jenkinsRootUrl
+    ) {
+
+        if (mailer == null) throw new IllegalArgumentException(
+                "No mailer provided"
+        );
+
+        this.mailer = mailer;
+        this.jenkinsRootUrl = jenkinsRootUrl;
+    }
+
+    @Override
+    public void onFinalized(final Run<?, ?> r) {
+
+        final Job<?, ?> job = r.getParent();
+        final WatcherJobProperty property = job.getProperty(WatcherJobProperty.class);
+        if (property == null || !property.isWatchBuildResults()) return;
+
+        final Result result = r.getResult();
+        final Run<?, ?> previous = r.getPreviousCompletedBuild();
+        final Result previousResult = previous == null ? null : previous.getResult();
+        if (result == null || previousResult == null || result == previousResult) return;
+
+        // Including recipients of the folders the job is in
+        final EffectiveRecipients effective = mailer.effectiveRecipients();
+        String recipients = effective == null
+                ? property.getWatcherAddresses()
+                : effective.of(job)
+        ;
+        final MailWatcherConfiguration config = mailer.configuration();
+        if (config != null) {
+
+            recipients = MailWatcherMailer.mergeAddresses(
+                    recipients, config.getIndex().forItem(job.getFullName())
+            );
+        }
+
+        getNotification()
+                .transition(previousResult, result)
+                .subject("changed from " + previousResult + " to " + result)
+                .recipients(recipients)
+                .send(r)
+        ;
+    }
+
+    private Notification.Builder getNotification() {
+
+        return new Notification.Builder(mailer, jenkinsRootUrl);
+    }
+
+    private static class Notification extends MailWatcherNotification {
+
+        private final @NonNull Run<?, ?> run;
+        private final @NonNull String transition;
+
+        public Notification(final Builder builder) {
+
+            super(builder);
+            this.run = builder.run;
+            this.transition = builder.transition;
+        }
+
+        @Override
+        protected String getSubject() {
+
+            return String.format("Build %s %s", getName(), super.getSubject());
+        }
+
+        @Override
+        protected @NonNull Map<String, String> pairs() {
+
+            final Map<String, String> pairs = super.pairs();
+            pairs.put("Result", transition);
+
+            return pairs;
+        }
+
+        // Read when the message is composed, not sooner
+        @Override
+        protected String getBody() {
+
+            final MailWatcherConfiguration config = mailer.configuration();
+            final int lines = config == null ? 0 : config.getBuildLogLines();
+            if (lines <= 0) return super.getBody();
+
+            try {
+
+                final List<String> tail = tail(run, lines);
+                if (tail.isEmpty()) return super.getBody();
+
+                final StringBuilder body = new StringBuilder("Console log (last ")
+                        .append(tail.size()).append(" lines):\n\n")
+                ;
+                for (final String line: tail) {
+
+                    body.append(ConsoleNote.removeNotes(line)).append('\n');
+                }
+
+                return body.toString();
+            } catch (IOException ex) {
+
+                LOGGER.log(Level.INFO, "Unable to read log of " + run, ex);
+                return super.getBody();
+            }
+        }
+
+        /**
+         * Last lines of the log read through the build, so compressed and externally stored logs are read as well.
+         */
+        /*package*/ static @NonNull List<String> tail(final @NonNull Run<?, ?> run, final int lines) throws IOException {
+
+            final Deque<String> tail = new ArrayDeque<>(lines);
+            try (BufferedReader reader = new BufferedReader(run.getLogText().readAll())) {
+
+                String line;
+                while ((line = reader.readLine()) != null) {
+
+                    if (tail.size() == lines) tail.removeFirst();
+                    tail.addLast(line);
+                }
+            }
+
+            return new ArrayList<>(tail);
+        }
+
+        private static class Builder extends MailWatcherNotification.Builder {
+
+            private Run<?, ?> run;
+            private String transition = "";
+
+            public Builder(final MailWatcherMailer mailer, final String jenkinsRootUrl) {
+
+                super(mailer, jenkinsRootUrl);
+            }
+
+            public Builder transition(final Result from, final Result to) {
+
+                this.transition = from + " -> " + to;
+                return this;
+            }
+
+            @Override
+            public void send(final Object o) {
+
+                run = (Run<?, ?>) o;
+
+                url(run.getUrl());
+                name(run.getFullDisplayName());
+
+                new Notification(this).send();
+            }
+        }
+    }
+}
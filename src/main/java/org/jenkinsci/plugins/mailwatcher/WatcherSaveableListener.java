@@ -0,0 +1,210 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import edu.umd.cs.findbugs.annotations.CheckForNull;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.XmlFile;
+import hudson.model.Fingerprint;
+import hudson.model.Item;
+import hudson.model.Run;
+import hudson.model.Saveable;
+import hudson.model.User;
+import hudson.model.listeners.SaveableListener;
+
+import java.io.File;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import jenkins.model.Jenkins;
+
+/**
+ * Notify whenever global configuration file changes.
+ * <p>
+ * Watches configuration files directly in <tt>JENKINS_HOME</tt>, such as
+ * <tt>config.xml</tt> or <tt>credentials.xml</tt>. As saveables are saved
+ * very often, those of classes that are never global configuration are ignored
+ * right away and the rest is matched against precomputed set of paths.
+ */
+@Extension
+public class WatcherSaveableListener extends SaveableListener {
+
+    // Saved often and never global configuration
+    private static final ClassValue<Boolean> IGNORED = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(final Class<?> type) {
+
+            return Item.class.isAssignableFrom(type)
+                    || Run.class.isAssignableFrom(type)
+                    || User.class.isAssignableFrom(type)
+                    || Fingerprint.class.isAssignableFrom(type)
+            ;
+        }
+    };
+
+    private final @NonNull MailWatcherMailer mailer;
+    private final String jenkinsRootUrl;
+    private final @NonNull File jenkinsHome;
+
+    private volatile Watched watched = Watched.NOTHING;
+
+    public WatcherSaveableListener() {
+
+        this(new MailWatcherMailer(Jenkins.get()), null, Jenkins.get().getRootDir());
+    }
+
+    /**
+     * @param jenkinsRootUrl Root URL to use in notifications, null to use the one configured.
+     */
+    public WatcherSaveableListener(
+            @NonNull final MailWatcherMailer mailer,
+            final String jenkinsRootUrl,
+            @NonNull final File jenkinsHome
+    ) {
+
+        if (mailer == null) throw new IllegalArgumentException(
+                "No mailer provided"
+        );
+
+        this.mailer = mailer;
+        this.jenkinsRootUrl = jenkinsRootUrl;
+        this.jenkinsHome = jenkinsHome;
+    }
+
+    @Override
+    public void onChange(final Saveable o, final XmlFile file) {
+
+        if (o == null || file == null || IGNORED.get(o.getClass())) return;
+
+        final MailWatcherConfiguration config = mailer.configuration();
+        if (config == null) return;
+
+        final String name = watched(config).files.get(file.getFile().getAbsolutePath());
+        if (name == null) return;
+
+        new Notification.Builder(mailer, jenkinsRootUrl)
+                .file(name, o)
+                .subject("changed")
+                .recipients(config.getGlobalConfigAddresses())
+                .send(o)
+        ;
+    }
+
+    /**
+     * Paths to watch, recompiled when the configuration changes.
+     */
+    private @NonNull Watched watched(final @NonNull MailWatcherConfiguration config) {
+
+        final String files = config.getWatchedGlobalFiles();
+        Watched current = watched;
+        if (!Objects.equals(current.source, files)) {
+
+            current = new Watched(files, jenkinsHome);
+            watched = current;
+        }
+
+        return current;
+    }
+
+    private static final class Watched {
+
+        private static final Watched NOTHING = new Watched(null, null);
+
+        private final @CheckForNull String source;
+
+        // Name relative to JENKINS_HOME by absolute path
+        private final @NonNull Map<String, String> files;
+
+        private Watched(final @CheckForNull String source, final @CheckForNull File home) {
+
+            this.source = source;
+            if (source == null || home == null) {
+
+                files = Collections.emptyMap();
+                return;
+            }
+
+            final Map<String, String> files = new HashMap<>();
+            for (final String name: source.split("[,\\s]+")) {
+
+                if (name.isEmpty()) continue;
+                files.put(new File(home, name).getAbsolutePath(), name);
+            }
+            this.files = files;
+        }
+    }
+
+    private static class Notification extends MailWatcherNotification {
+
+        private final String type;
+
+        public Notification(final Builder builder) {
+
+            super(builder);
+            this.type = builder.type;
+        }
+
+        @Override
+        protected String getSubject() {
+
+            return String.format("Global configuration %s %s", getName(), super.getSubject());
+        }
+
+        @Override
+        protected @NonNull Map<String, String> pairs() {
+
+            final Map<String, String> pairs = super.pairs();
+            pairs.put("Saved by", type);
+
+            return pairs;
+        }
+
+        private static class Builder extends MailWatcherNotification.Builder {
+
+            private String type = "";
+
+            public Builder(final MailWatcherMailer mailer, final String jenkinsRootUrl) {
+
+                super(mailer, jenkinsRootUrl);
+            }
+
+            public Builder file(final String name, final Saveable saveable) {
+
+                name(name);
+                this.type = saveable.getClass().getName();
+                return this;
+            }
+
+            @Override
+            public void send(final Object o) {
+
+                url("manage/");
+                new Notification(this).send();
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher.folder;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Item;
+
+import org.jenkinsci.plugins.mailwatcher.WatchedItemType;
+
+/**
+ * Watch folders, multibranch projects and organization folders.
+ */
+@Extension(optional = true)
+public class FolderItemType extends WatchedItemType {
+
+    @Override
+    public boolean isApplicable(final @NonNull Class<?> itemClass) {
+
+        return AbstractFolder.class.isAssignableFrom(itemClass);
+    }
+
+    @Override
+    public String getWatcherAddresses(final @NonNull Item item) {
+
+        final WatcherFolderProperty property = ((AbstractFolder<?>) item).getProperties().get(
+                WatcherFolderProperty.class
+        );
+
+        return property == null ? null : property.getWatcherAddresses();
+    }
+
+    @Override
+    public @NonNull String getDisplayName() {
+
+        return "Folder";
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher.folder;
+
+import com.cloudbees.hudson.plugins.folder.AbstractFolder;
+import com.cloudbees.hudson.plugins.folder.AbstractFolderProperty;
+import com.cloudbees.hudson.plugins.folder.AbstractFolderPropertyDescriptor;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import hudson.model.Item;
+import hudson.util.FormValidation;
+import net.sf.json.JSONObject;
+
+import org.jenkinsci.plugins.mailwatcher.MailWatcherMailer;
+import org.kohsuke.stapler.AncestorInPath;
+import org.kohsuke.stapler.DataBoundConstructor;
+import org.kohsuke.stapler.QueryParameter;
+import org.kohsuke.stapler.StaplerRequest2;
+import org.kohsuke.stapler.verb.POST;
+
+/**
+ * Configure list of email addresses to notify when folder, including
+ * multibranch project or organization folder, configuration changes.
+ */
+public class WatcherFolderProperty extends AbstractFolderProperty<AbstractFolder<?>> {
+
+    private final String watcherAddresses;
+
+    @DataBoundConstructor
+    public WatcherFolderProperty(final String watcherAddresses) {
+
+        this.watcherAddresses = watcherAddresses;
+    }
+
+    public String getWatcherAddresses() {
+
+        return watcherAddresses;
+    }
+
+    @Extension(optional = true)
+    public static class DescriptorImpl extends AbstractFolderPropertyDescriptor {
+
+        @Override
+        public AbstractFolderProperty<?> newInstance(
+                final StaplerRequest2 req,
+                final JSONObject formData
+        ) throws FormException {
+
+            final JSONObject watcherData = formData.getJSONObject("watcherEnabled");
+            if (watcherData.isNullObject()) return null;
+
+            final String addresses = watcherData.getString("watcherAddresses");
+            if (addresses == null || addresses.isEmpty()) return null;
+
+            return new WatcherFolderProperty(addresses);
+        }
+
+        @POST
+        public FormValidation doCheckWatcherAddresses(
+                @AncestorInPath Item item, @QueryParameter String value
+        ) {
+
+            return MailWatcherMailer.validateMailAddresses(value, item, Item.CONFIGURE);
+        }
+
+        @Override @NonNull
+        public String getDisplayName() {
+
+            return "Notify when Folder configuration changes";
+        }
+    }
+}
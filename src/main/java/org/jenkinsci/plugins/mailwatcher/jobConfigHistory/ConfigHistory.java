@@ -25,11 +25,13 @@ package org.jenkinsci.plugins.mailwatcher.jobConfigHistory;
 
 import edu.umd.cs.findbugs.annotations.CheckForNull;
 import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.XmlFile;
 import hudson.model.Job;
 import hudson.plugins.jobConfigHistory.ConfigInfo;
 import hudson.plugins.jobConfigHistory.JobConfigHistory;
 import hudson.plugins.jobConfigHistory.JobConfigHistoryProjectAction;
 
+import java.io.File;
 import java.util.List;
 
 /**
@@ -46,23 +48,74 @@ public class ConfigHistory {
 
     public @CheckForNull String lastChangeDiffUrl(final @NonNull Job<?, ?> job) {
 
-        if (plugin == null) return null;
-
-        final List<ConfigInfo> configs = storedConfigurations(job);
-        if (configs == null || configs.size() < 2) return null;
+        final Change change = lastChange(job);
+        if (change == null) return null;
 
         return String.format(
                 "%sjobConfigHistory/showDiffFiles?timestamp1=%s&timestamp2=%s",
-                job.getShortUrl(), configs.get(1).getDate(), configs.get(0).getDate()
+                job.getShortUrl(), change.getFrom(), change.getTo()
         );
     }
 
-    private @CheckForNull List<ConfigInfo> storedConfigurations(final Job<?, ?> job) {
+    /**
+     * Two latest configuration revisions of a job.
+     */
+    public @CheckForNull Change lastChange(final @NonNull Job<?, ?> job) {
 
-        final JobConfigHistoryProjectAction action = job.getAction(JobConfigHistoryProjectAction.class);
+        if (plugin == null) return null;
 
+        final JobConfigHistoryProjectAction action = job.getAction(JobConfigHistoryProjectAction.class);
         if (action == null) return null;
 
-        return action.getJobConfigs();
+        final List<ConfigInfo> configs = action.getJobConfigs();
+        if (configs == null || configs.size() < 2) return null;
+
+        return new Change(action, configs.get(1).getDate(), configs.get(0).getDate());
+    }
+
+    public static final class Change {
+
+        private final @NonNull JobConfigHistoryProjectAction action;
+        private final @NonNull String from;
+        private final @NonNull String to;
+
+        private Change(
+                final @NonNull JobConfigHistoryProjectAction action,
+                final @NonNull String from,
+                final @NonNull String to
+        ) {
+
+            this.action = action;
+            this.from = from;
+            this.to = to;
+        }
+
+        /**
+         * @return Timestamp of the older revision.
+         */
+        public @NonNull String getFrom() {
+
+            return from;
+        }
+
+        /**
+         * @return Timestamp of the newer revision.
+         */
+        public @NonNull String getTo() {
+
+            return to;
+        }
+
+        /**
+         * @return Stored config.xml of the revision, null when not available.
+         */
+        public @CheckForNull File file(final @NonNull String timestamp) {
+
+            final XmlFile xml = action.getOldConfigXml(timestamp);
+            if (xml == null) return null;
+
+            final File file = xml.getFile();
+            return file.isFile() ? file : null;
+        }
     }
 }
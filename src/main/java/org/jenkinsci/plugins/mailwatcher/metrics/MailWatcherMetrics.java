@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher.metrics;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.MetricSet;
+import edu.umd.cs.findbugs.annotations.NonNull;
+import hudson.Extension;
+import jenkins.metrics.api.MetricProvider;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.jenkinsci.plugins.mailwatcher.DryRunSink;
+import org.jenkinsci.plugins.mailwatcher.DuplicateFilter;
+import org.jenkinsci.plugins.mailwatcher.MailThrottle;
+import org.jenkinsci.plugins.mailwatcher.NotificationHistory;
+
+/**
+ * Expose plugin internals through Metrics plugin.
+ */
+@Extension(optional = true)
+public class MailWatcherMetrics extends MetricProvider {
+
+    private static final String PREFIX = "mailwatcher";
+
+    @Override
+    public @NonNull MetricSet getMetricSet() {
+
+        final Map<String, Metric> metrics = new HashMap<>();
+        metrics.put(
+                MetricRegistry.name(PREFIX, "throttle", "global", "tokens"),
+                (Gauge<Double>) () -> MailThrottle.get().getGlobalTokens()
+        );
+        metrics.put(
+                MetricRegistry.name(PREFIX, "throttle", "domain", "tokens"),
+                (Gauge<Map<String, Double>>) () -> MailThrottle.get().getDomainTokens()
+        );
+        metrics.put(
+                MetricRegistry.name(PREFIX, "throttle", "backlog"),
+                (Gauge<Integer>) () -> MailThrottle.get().getBacklogSize()
+        );
+        metrics.put(
+                MetricRegistry.name(PREFIX, "duplicates", "suppressed"),
+                (Gauge<Long>) () -> DuplicateFilter.get().getSuppressed()
+        );
+        metrics.put(
+                MetricRegistry.name(PREFIX, "dryrun", "messages"),
+                (Gauge<Long>) () -> DryRunSink.get().getMessages()
+        );
+        metrics.put(
+                MetricRegistry.name(PREFIX, "dryrun", "bytes"),
+                (Gauge<Long>) () -> DryRunSink.get().getBytes()
+        );
+
+        metrics.put(
+                MetricRegistry.name(PREFIX, "history", "segments", "read"),
+                (Gauge<Long>) () -> NotificationHistory.get().getSegmentsRead()
+        );
+
+        return () -> metrics;
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AvailabilityAlertsTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    private final AvailabilityAlerts alerts = new AvailabilityAlerts();
+
+    @Test
+    void alertOnceAndRecover() {
+        assertNull(alerts.observe("a", true, 90, 10, 0));
+        assertNull(alerts.observe("a", false, 90, 10, 5 * MINUTE));
+        // Not observed for the whole window yet
+        assertNull(alerts.observe("a", false, 90, 10, 9 * MINUTE));
+
+        AvailabilityAlerts.Alert alert = alerts.observe("a", false, 90, 10, 10 * MINUTE);
+        assertNotNull(alert);
+        assertFalse(alert.recovered());
+        // Online for four of the nine full minutes in the window
+        assertEquals(400.0 / 9, alert.percent(), 0.1);
+
+        // Still below
+        assertNull(alerts.observe("a", true, 90, 10, 11 * MINUTE));
+        assertNull(alerts.observe("a", true, 90, 10, 16 * MINUTE));
+
+        alert = alerts.observe("a", true, 90, 10, 20 * MINUTE);
+        assertNotNull(alert);
+        assertTrue(alert.recovered());
+    }
+
+    @Test
+    void forgetWithoutThreshold() {
+        alerts.observe("a", false, 90, 1, 0);
+        assertNotNull(alerts.observe("a", false, 90, 1, MINUTE));
+
+        assertNull(alerts.observe("a", false, 0, 1, 2 * MINUTE));
+        // Tracking starts over
+        assertNull(alerts.observe("a", false, 90, 1, 2 * MINUTE));
+        assertNotNull(alerts.observe("a", false, 90, 1, 3 * MINUTE));
+    }
+}
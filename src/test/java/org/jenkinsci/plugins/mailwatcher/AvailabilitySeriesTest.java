@@ -0,0 +1,70 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class AvailabilitySeriesTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+    @Test
+    void onlineFractionOfWindow() {
+        AvailabilitySeries series = new AvailabilitySeries(10, true, 0);
+        series.update(false, 3 * MINUTE);
+        series.update(true, 4 * MINUTE);
+
+        // Down for one minute of the first five
+        assertEquals(0.8, series.availability(5 * MINUTE), 0.001);
+        // Down for the oldest of the last nine and a half minutes
+        assertEquals(8.5 / 9.5, series.availability(12 * MINUTE + MINUTE / 2), 0.001);
+        // The outage left the window
+        assertEquals(1.0, series.availability(14 * MINUTE), 0.001);
+    }
+
+    @Test
+    void partialMinutes() {
+        AvailabilitySeries series = new AvailabilitySeries(10, false, 0);
+        series.update(true, 30_000);
+        series.update(false, 45_000);
+
+        assertEquals(0.25, series.availability(MINUTE), 0.001);
+    }
+
+    @Test
+    void longQuietPeriod() {
+        AvailabilitySeries series = new AvailabilitySeries(60, true, 0);
+        series.update(false, 10 * MINUTE);
+
+        assertEquals(0.0, series.availability(1000 * MINUTE), 0.001);
+
+        series.update(true, 1000 * MINUTE + 30_000);
+        // Half a minute online of the full minutes in the window
+        assertEquals(0.5 / 59, series.availability(1001 * MINUTE), 0.001);
+    }
+}
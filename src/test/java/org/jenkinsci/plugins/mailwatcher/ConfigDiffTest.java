@@ -0,0 +1,125 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.endsWith;
+import static org.hamcrest.Matchers.lessThan;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ConfigDiffTest {
+
+    @TempDir
+    private Path dir;
+
+    @Test
+    void sameContent() throws Exception {
+        assertEquals("", diff("a\nb\n", "a\nb\n", 1024));
+    }
+
+    @Test
+    void changedLine() throws Exception {
+        String diff = diff("a\nb\nc\nd\ne\nf\ng\nh\n", "a\nb\nc\nD\ne\nf\ng\nh\n", 1024);
+
+        assertEquals(
+                "--- old\n+++ new\n@@ -1,7 +1,7 @@\n a\n b\n c\n-d\n+D\n e\n f\n g\n",
+                diff
+        );
+    }
+
+    @Test
+    void insertedLine() throws Exception {
+        assertEquals("--- old\n+++ new\n@@ -1,1 +1,2 @@\n+y\n x\n", diff("x\n", "y\nx\n", 1024));
+    }
+
+    @Test
+    void separateHunks() throws Exception {
+        StringBuilder from = new StringBuilder();
+        StringBuilder to = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            from.append(i).append('\n');
+            to.append(i == 1 || i == 18 ? "changed" : i).append('\n');
+        }
+
+        String diff = diff(from.toString(), to.toString(), 1024);
+        assertEquals(
+                "--- old\n+++ new\n"
+                + "@@ -1,5 +1,5 @@\n 0\n-1\n+changed\n 2\n 3\n 4\n"
+                + "@@ -16,5 +16,5 @@\n 15\n 16\n 17\n-18\n+changed\n 19\n",
+                diff
+        );
+    }
+
+    @Test
+    void changes() {
+        List<ConfigDiff.Change> changes = ConfigDiff.changes(new long[] {1, 2, 3, 4, 5}, new long[] {1, 3, 4, 6, 5});
+
+        assertEquals(2, changes.size());
+        assertEquals("[1,2) -> [1,1)", changes.get(0).toString());
+        assertEquals("[4,4) -> [3,4)", changes.get(1).toString());
+    }
+
+    @Test
+    void replaceWhenTooLargeToCompare() {
+        long[] a = new long[2000];
+        long[] b = new long[2000];
+        for (int i = 0; i < a.length; i++) {
+            a[i] = i;
+            b[i] = i < 10 || i >= 1990 ? i : -i;
+        }
+
+        List<ConfigDiff.Change> changes = ConfigDiff.changes(a, b);
+        assertEquals(1, changes.size());
+        assertEquals("[10,1990) -> [10,1990)", changes.get(0).toString());
+    }
+
+    @Test
+    void truncate() throws Exception {
+        StringBuilder from = new StringBuilder();
+        StringBuilder to = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            from.append("old line ").append(i).append('\n');
+            to.append("new line ").append(i).append('\n');
+        }
+
+        String diff = diff(from.toString(), to.toString(), 200);
+        assertThat(diff, endsWith("[diff truncated]\n"));
+        assertThat(diff.length(), lessThan(300));
+    }
+
+    private String diff(String from, String to, int limit) throws IOException {
+        Path old = Files.writeString(dir.resolve("old.xml"), from, StandardCharsets.UTF_8);
+        Path current = Files.writeString(dir.resolve("new.xml"), to, StandardCharsets.UTF_8);
+        return ConfigDiff.unified(old, "old", current, "new", limit);
+    }
+}
@@ -0,0 +1,285 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import com.sun.net.httpserver.HttpServer;
+import hudson.model.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeliveryChannelsTest {
+
+    @TempDir
+    Path dir;
+
+    private final BlockingQueue<String> posted = new LinkedBlockingQueue<>();
+    private HttpServer server;
+    private int status = 204;
+
+    private final MailWatcherConfiguration config = mock(MailWatcherConfiguration.class);
+    private final DeliveryChannels channels = new DeliveryChannels();
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/hook", exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                posted.add(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+            }
+            exchange.sendResponseHeaders(status, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void postToWebhook() throws Exception {
+        when(config.getWebhookUrl()).thenReturn(hookUrl());
+
+        channels.dispatch(notification("Job updated", "a@example.com"), config, List.of(new WebhookChannel()));
+
+        String json = posted.poll(10, TimeUnit.SECONDS);
+        assertNotNull(json);
+        assertThat(json, containsString("\"subject\":\"mail-watcher-plugin: Job updated\""));
+        assertThat(json, containsString("\"recipients\":\"a@example.com\""));
+        assertThat(json, containsString("\"url\":\"http://jenkins.example.com/job/a/\""));
+        assertThat(json, containsString("\"body\":\"line \\\"one\\\"\\nline two\""));
+    }
+
+    @Test
+    void reportRejectedPost() {
+        status = 500;
+        assertThrows(IOException.class, () -> new WebhookChannel().post(URI.create(hookUrl()), "{}"));
+    }
+
+    @Test
+    void spoolCompleteFiles() throws Exception {
+        when(config.getSpoolDirectory()).thenReturn(dir.toString());
+
+        channels.dispatch(notification("Job updated", "a@example.com"), config, List.of(new SpoolChannel()));
+
+        Path file = null;
+        for (int i = 0; i < 100 && file == null; i++) {
+            try (Stream<Path> files = Files.list(dir)) {
+                file = files.filter(f -> f.getFileName().toString().endsWith(".json")).findFirst().orElse(null);
+            }
+            if (file == null) Thread.sleep(100);
+        }
+
+        assertNotNull(file);
+        assertThat(Files.readString(file), containsString("\"subject\":\"mail-watcher-plugin: Job updated\""));
+        try (Stream<Path> files = Files.list(dir)) {
+            assertEquals(1, files.count());
+        }
+    }
+
+    @Test
+    void slowChannelDoesNotHoldBackOthers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch fastDelivered = new CountDownLatch(3);
+        DeliveryChannel slow = new TestChannel("slow", release::await);
+        DeliveryChannel fast = new TestChannel("fast", fastDelivered::countDown);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                channels.dispatch(notification("Event " + i, "a@example.com"), config, List.of(slow, fast));
+            }
+
+            assertTrue(fastDelivered.await(10, TimeUnit.SECONDS));
+
+            // One in progress, one queued, one dropped
+            assertEquals(1, channels.getDropped(slow));
+            assertEquals(0, channels.getDropped(fast));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void deliverOnCallingThreadWhenFull() throws Exception {
+        String caller = Thread.currentThread().getName();
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        DeliveryChannel mail = new TestChannel("mail", () -> {
+            threads.add(Thread.currentThread().getName());
+            if (!caller.equals(Thread.currentThread().getName())) release.await();
+        }, true);
+
+        try {
+            for (int i = 0; i < 3; i++) {
+                channels.dispatch(notification("Event " + i, "a@example.com"), config, List.of(mail));
+            }
+
+            // One in progress, one queued, one delivered right away
+            assertTrue(threads.contains(caller));
+            assertEquals(0, channels.getDropped(mail));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void deliverQueuedOnClose() throws Exception {
+        CountDownLatch delivered = new CountDownLatch(2);
+        DeliveryChannel channel = new TestChannel("channel", () -> {
+            Thread.sleep(100);
+            delivered.countDown();
+        });
+
+        for (int i = 0; i < 2; i++) {
+            channels.dispatch(notification("Event " + i, "a@example.com"), config, List.of(channel));
+        }
+
+        assertEquals(0, channels.close(10, TimeUnit.SECONDS));
+        assertEquals(0, delivered.getCount());
+    }
+
+    @Test
+    void giveUpOnStuckChannelOnClose() {
+        CountDownLatch release = new CountDownLatch(1);
+        DeliveryChannel stuck = new TestChannel("stuck", release::await);
+
+        try {
+            for (int i = 0; i < 2; i++) {
+                channels.dispatch(notification("Event " + i, "a@example.com"), config, List.of(stuck));
+            }
+
+            // One in progress interrupted, one queued left behind
+            assertEquals(1, channels.close(100, TimeUnit.MILLISECONDS));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void skipNotificationsWithoutRecipients() throws Exception {
+        when(config.getWebhookUrl()).thenReturn(hookUrl());
+
+        channels.dispatch(notification("Job updated", null), config, List.of(new WebhookChannel()));
+
+        assertNull(posted.poll(500, TimeUnit.MILLISECONDS));
+    }
+
+    private String hookUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + "/hook";
+    }
+
+    private static MailWatcherNotification notification(String subject, String recipients) {
+        User user = mock(User.class);
+        when(user.getId()).thenReturn("alice");
+
+        MailWatcherNotification.Builder builder = new MailWatcherNotification.Builder(
+                mock(MailWatcherMailer.class), "http://jenkins.example.com/"
+        ) {
+            @Override
+            public void send(Object object) {
+            }
+        };
+        builder.url("job/a/").name("a").initiator(user);
+        builder.subject(subject).body("line \"one\"\nline two").recipients(recipients);
+
+        return new MailWatcherNotification(builder) {
+        };
+    }
+
+    private interface Action {
+        void run() throws Exception;
+    }
+
+    private static final class TestChannel extends DeliveryChannel {
+
+        private final String name;
+        private final Action action;
+        private final boolean deliveredWhenFull;
+
+        private TestChannel(String name, Action action) {
+            this(name, action, false);
+        }
+
+        private TestChannel(String name, Action action, boolean deliveredWhenFull) {
+            this.name = name;
+            this.action = action;
+            this.deliveredWhenFull = deliveredWhenFull;
+        }
+
+        @Override
+        public boolean isEnabled(MailWatcherConfiguration config) {
+            return true;
+        }
+
+        @Override
+        public void deliver(MailWatcherNotification notification, MailWatcherConfiguration config) throws Exception {
+            action.run();
+        }
+
+        @Override
+        public int getQueueCapacity() {
+            return 1;
+        }
+
+        @Override
+        public boolean isDeliveredWhenFull() {
+            return deliveredWhenFull;
+        }
+
+        @Override
+        public String getDisplayName() {
+            return name;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import jakarta.mail.Message;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DryRunSinkTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void recordMessages() throws Exception {
+        Path file = dir.resolve("dry-run.log");
+        DryRunSink sink = new DryRunSink(file);
+
+        sink.accept(message("first", "a@example.com, b@example.com"));
+        sink.accept(message("second", "c@example.com"));
+        sink.close();
+
+        assertEquals(2, sink.getMessages());
+        assertEquals(3, sink.getRecipients());
+        assertTrue(sink.getBytes() > 0);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertEquals("time\trecipients\tbytes\trender_us\tsubject", lines.get(0));
+
+        String[] fields = lines.get(1).split("\t");
+        assertEquals("2", fields[1]);
+        assertEquals("first", fields[4]);
+        assertEquals("1", lines.get(2).split("\t")[1]);
+    }
+
+    @Test
+    void appendAfterRestart() throws Exception {
+        Path file = dir.resolve("dry-run.log");
+        DryRunSink sink = new DryRunSink(file);
+        sink.accept(message("first", "a@example.com"));
+        sink.close();
+
+        sink = new DryRunSink(file);
+        sink.accept(message("second", "a@example.com"));
+        sink.close();
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(3, lines.size());
+        assertEquals(1, sink.getMessages());
+    }
+
+    private static MimeMessage message(String subject, String recipients) throws Exception {
+        MimeMessage msg = new MimeMessage(Session.getInstance(new Properties()));
+        msg.setFrom(new InternetAddress("jenkins@example.com"));
+        msg.setSubject(subject);
+        msg.setRecipients(Message.RecipientType.TO, InternetAddress.parse(recipients));
+        msg.setText("body");
+        return msg;
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DuplicateFilterTest {
+
+    private static final long WINDOW = TimeUnit.SECONDS.toNanos(80);
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final DuplicateFilter filter = new DuplicateFilter();
+
+    @Test
+    void dropWithinWindow() {
+        long fingerprint = DuplicateFilter.fingerprint("subject", "a@example.com", "1");
+
+        assertTrue(filter.admit(fingerprint, WINDOW, 0));
+        assertFalse(filter.admit(fingerprint, WINDOW, 30 * SECOND));
+        assertFalse(filter.admit(fingerprint, WINDOW, 69 * SECOND));
+        assertEquals(2, filter.getSuppressed());
+
+        // Different revision
+        assertTrue(filter.admit(DuplicateFilter.fingerprint("subject", "a@example.com", "2"), WINDOW, 69 * SECOND));
+    }
+
+    @Test
+    void admitAfterWindow() {
+        long fingerprint = DuplicateFilter.fingerprint("subject", "a@example.com", "1");
+
+        assertTrue(filter.admit(fingerprint, WINDOW, 0));
+        assertTrue(filter.admit(fingerprint, WINDOW, 81 * SECOND));
+        assertFalse(filter.admit(fingerprint, WINDOW, 82 * SECOND));
+        assertEquals(1, filter.getSuppressed());
+    }
+
+    @Test
+    void admitForgotten() {
+        long fingerprint = DuplicateFilter.fingerprint("subject", "a@example.com", "1");
+
+        assertTrue(filter.admit(fingerprint, WINDOW, 0));
+        filter.forget(fingerprint);
+        assertTrue(filter.admit(fingerprint, WINDOW, SECOND));
+        assertFalse(filter.admit(fingerprint, WINDOW, 2 * SECOND));
+    }
+
+    @Test
+    void forgetWhenWindowChanges() {
+        long fingerprint = DuplicateFilter.fingerprint("subject", "a@example.com", "1");
+
+        assertTrue(filter.admit(fingerprint, WINDOW, 0));
+        assertTrue(filter.admit(fingerprint, 2 * WINDOW, SECOND));
+    }
+
+    @Test
+    void fingerprintSeparatesParts() {
+        assertNotEquals(
+                DuplicateFilter.fingerprint("ab", "c"),
+                DuplicateFilter.fingerprint("a", "bc")
+        );
+        assertNotEquals(
+                DuplicateFilter.fingerprint("a", null),
+                DuplicateFilter.fingerprint(null, "a")
+        );
+    }
+}
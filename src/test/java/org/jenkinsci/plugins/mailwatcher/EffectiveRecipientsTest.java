@@ -0,0 +1,84 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import com.cloudbees.hudson.plugins.folder.Folder;
+import hudson.model.FreeStyleProject;
+import org.jenkinsci.plugins.mailwatcher.folder.WatcherFolderProperty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@WithJenkins
+class EffectiveRecipientsTest {
+
+    private JenkinsRule j;
+    private EffectiveRecipients recipients;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        j = rule;
+        recipients = EffectiveRecipients.get();
+    }
+
+    @Test
+    void inheritFromFolders() throws Exception {
+        Folder outer = j.jenkins.createProject(Folder.class, "outer");
+        outer.getProperties().add(new WatcherFolderProperty("outer@example.com"));
+        Folder inner = outer.createProject(Folder.class, "inner");
+        FreeStyleProject job = inner.createProject(FreeStyleProject.class, "job");
+        job.addProperty(new WatcherJobProperty("job@example.com"));
+        FreeStyleProject unwatched = j.createFreeStyleProject("unwatched");
+
+        assertEquals("job@example.com, outer@example.com", recipients.of(job));
+        assertEquals("outer@example.com", recipients.of(inner));
+        assertNull(recipients.of(unwatched));
+    }
+
+    @Test
+    void invalidateSubtreeWhenFolderChanges() throws Exception {
+        Folder outer = j.jenkins.createProject(Folder.class, "outer");
+        outer.getProperties().add(new WatcherFolderProperty("old@example.com"));
+        Folder inner = outer.createProject(Folder.class, "inner");
+        FreeStyleProject job = inner.createProject(FreeStyleProject.class, "job");
+        FreeStyleProject sibling = j.createFreeStyleProject("outer-sibling");
+        sibling.addProperty(new WatcherJobProperty("sibling@example.com"));
+
+        assertEquals("old@example.com", recipients.of(job));
+        assertEquals("sibling@example.com", recipients.of(sibling));
+        assertEquals(4, recipients.size());
+
+        outer.getProperties().replace(new WatcherFolderProperty("new@example.com"));
+
+        // Sibling with common name prefix kept
+        assertEquals(1, recipients.size());
+
+        assertEquals("new@example.com", recipients.of(job));
+        assertEquals("sibling@example.com", recipients.of(sibling));
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class EventAggregatorTest {
+
+    private final ScheduledExecutorService scheduler = mock(ScheduledExecutorService.class);
+    private final Map<String, List<String>> flushed = new TreeMap<>();
+
+    private final EventAggregator<String, String> aggregator = new EventAggregator<>(
+            () -> scheduler, (key, events) -> flushed.put(key, new ArrayList<>(events))
+    );
+
+    @Test
+    void collectEventsPerKey() {
+        aggregator.add("offline", "a", 1000);
+        aggregator.add("offline", "b", 1000);
+        aggregator.add("online", "c", 1000);
+        aggregator.add("offline", "d", 1000);
+
+        // Window scheduled once per key
+        verify(scheduler, times(2)).schedule(any(Runnable.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        assertEquals(4, aggregator.pending());
+        assertTrue(flushed.isEmpty());
+
+        aggregator.flush("offline");
+        assertEquals(List.of("a", "b", "d"), flushed.get("offline"));
+        assertEquals(1, aggregator.pending());
+
+        aggregator.flush("online");
+        assertEquals(List.of("c"), flushed.get("online"));
+        assertEquals(0, aggregator.pending());
+    }
+
+    @Test
+    void reopenWindowAfterFlush() {
+        aggregator.add("offline", "a", 1000);
+        aggregator.flush("offline");
+        aggregator.flush("offline");
+        aggregator.add("offline", "b", 1000);
+
+        verify(scheduler, times(2)).schedule(any(Runnable.class), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        assertEquals(List.of("a"), flushed.get("offline"));
+        assertEquals(1, aggregator.pending());
+    }
+}
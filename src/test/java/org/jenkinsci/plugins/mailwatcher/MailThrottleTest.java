@@ -0,0 +1,135 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import jakarta.mail.Message;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Session;
+import jakarta.mail.internet.InternetAddress;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class MailThrottleTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toNanos(1);
+
+    private final MailThrottle throttle = new MailThrottle();
+
+    @Test
+    void unlimited() {
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(throttle.tryAcquire(0, 0, Set.of("example.com"), 0));
+        }
+    }
+
+    @Test
+    void globalLimit() {
+        assertTrue(throttle.tryAcquire(2, 0, Collections.emptySet(), 0));
+        assertTrue(throttle.tryAcquire(2, 0, Collections.emptySet(), 0));
+        assertFalse(throttle.tryAcquire(2, 0, Collections.emptySet(), 0));
+
+        assertTrue(throttle.tryAcquire(2, 0, Collections.emptySet(), MINUTE / 2));
+    }
+
+    @Test
+    void domainLimit() {
+        assertTrue(throttle.tryAcquire(0, 1, Set.of("a.com"), 0));
+        assertFalse(throttle.tryAcquire(0, 1, Set.of("a.com"), 0));
+        assertTrue(throttle.tryAcquire(0, 1, Set.of("b.com"), 0));
+        assertFalse(throttle.tryAcquire(0, 1, Set.of("b.com", "c.com"), 0));
+
+        // Nothing consumed by the refused attempt
+        assertTrue(throttle.tryAcquire(0, 1, Set.of("c.com"), 0));
+    }
+
+    @Test
+    void foldDeferredMessagesForSameRecipients() throws Exception {
+        throttle.defer(deferred("a@example.com, b@example.com"));
+        throttle.defer(deferred("b@example.com, a@example.com"));
+        throttle.defer(deferred("c@example.com"));
+        assertEquals(3, throttle.getBacklogSize());
+
+        // New messages wait behind the backlog
+        assertFalse(throttle.tryAcquire(0, 0, Collections.emptySet(), 0));
+
+        List<MailThrottle.Group> ready = throttle.take(1, 0, 0);
+        assertEquals(1, ready.size());
+        assertEquals(2, ready.get(0).size());
+        assertEquals(1, throttle.getBacklogSize());
+
+        assertEquals(0, throttle.take(1, 0, 0).size());
+        assertEquals(1, throttle.take(1, 0, MINUTE).size());
+        assertEquals(0, throttle.getBacklogSize());
+    }
+
+    @Test
+    void countDeferredMessagesOverLimit() throws Exception {
+        for (int i = 0; i < MailThrottle.MAX_DIGEST_ENTRIES + 5; i++) {
+            throttle.defer(deferred("a@example.com"));
+        }
+        for (int i = 1; i < MailThrottle.MAX_BACKLOG_ENTRIES / MailThrottle.MAX_DIGEST_ENTRIES; i++) {
+            for (int j = 0; j < MailThrottle.MAX_DIGEST_ENTRIES; j++) {
+                throttle.defer(deferred("user" + i + "@example.com"));
+            }
+        }
+        // Backlog is full, new recipients keep the first message only
+        throttle.defer(deferred("b@example.com"));
+        throttle.defer(deferred("b@example.com"));
+        assertEquals(MailThrottle.MAX_BACKLOG_ENTRIES + 7, throttle.getBacklogSize());
+
+        List<MailThrottle.Group> ready = throttle.take(0, 0, 0);
+        MailThrottle.Group first = ready.get(0);
+        assertEquals(MailThrottle.MAX_DIGEST_ENTRIES, first.entries.size());
+        assertEquals(5, first.omitted);
+
+        MailThrottle.Group last = ready.get(ready.size() - 1);
+        assertEquals(1, last.entries.size());
+        assertEquals(2, last.size());
+        assertEquals(0, throttle.getBacklogSize());
+    }
+
+    @Test
+    void domains() throws Exception {
+        assertEquals(
+                Set.of("example.com", "example.org"),
+                MailThrottle.domains(InternetAddress.parse("a@Example.COM, \"B\" <b@example.org>, c@example.com"))
+        );
+    }
+
+    private MailThrottle.Deferred deferred(String recipients) throws MessagingException {
+        MimeMessage msg = new MimeMessage((Session) null);
+        msg.setRecipients(Message.RecipientType.TO, InternetAddress.parse(recipients));
+        return new MailThrottle.Deferred(mock(MailWatcherMailer.class), "job", msg, "subject", "text");
+    }
+}
@@ -23,10 +23,13 @@
  */
 package org.jenkinsci.plugins.mailwatcher;
 
+import hudson.model.User;
 import hudson.tasks.Mailer;
+import jakarta.mail.Message;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.InternetAddress;
 import jakarta.mail.internet.MimeMessage;
+import jakarta.mail.internet.MimeMultipart;
 import jenkins.model.JenkinsLocationConfiguration;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -38,12 +41,32 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Answers.CALLS_REAL_METHODS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @WithJenkins
@@ -65,6 +88,9 @@ class MailWatcherMailerTest {
         Field field = mailer.getClass().getDeclaredField("mailerDescriptor");
         field.setAccessible(true);
         field.set(mailer, mailerDescriptor);
+
+        // Compose and send mail on the calling thread
+        lenient().doReturn(null).when(mailer).channels();
     }
 
     @Test
@@ -131,6 +157,190 @@ class MailWatcherMailerTest {
         verify(mailer, never()).send(any(MimeMessage.class));
     }
 
+    @Test
+    void followRootUrlChanges() {
+        JenkinsLocationConfiguration.get().setUrl("http://jenkins.example.com/ci");
+        assertEquals("http://jenkins.example.com/ci/job/a/", mailer.absoluteUrl("job/a/"));
+
+        JenkinsLocationConfiguration.get().setUrl("https://ci.example.com/");
+        assertEquals("https://ci.example.com/job/a/", mailer.absoluteUrl("job/a/"));
+    }
+
+    @Test
+    void htmlMessagePerDomain() throws Exception {
+        MailWatcherConfiguration config = MailWatcherConfiguration.get();
+        config.setHtmlMail(true);
+        config.setDomainRateLimit(100);
+        doNothing().when(mailer).send(any(MimeMessage.class));
+
+        builder().subject("Message subject")
+                .body("<body>")
+                .recipients("a@example.org, b@example.com, c@example.org")
+                .send(null);
+
+        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailer, times(2)).send(captor.capture());
+
+        // Delivered concurrently
+        List<MimeMessage> messages = captor.getAllValues();
+        List<String> envelopes = new ArrayList<>();
+        for (MimeMessage msg: messages) {
+            envelopes.add(InternetAddress.toString(msg.getAllRecipients()));
+        }
+        assertTrue(envelopes.contains("a@example.org, c@example.org"));
+        assertTrue(envelopes.contains("b@example.com"));
+
+        for (MimeMessage msg: messages) {
+            msg.saveChanges();
+            MimeMultipart alternative = (MimeMultipart) msg.getContent();
+            assertEquals(2, alternative.getCount());
+            assertTrue(alternative.getBodyPart(0).isMimeType("text/plain"));
+            assertTrue(alternative.getBodyPart(1).isMimeType("text/html"));
+            assertThat((String) alternative.getBodyPart(1).getContent(), containsString("<pre>&lt;body&gt;</pre>"));
+        }
+    }
+
+    @Test
+    void splitRecipientsOverLimit() throws Exception {
+        MailWatcherConfiguration.get().setMaxRecipients(2);
+
+        List<String> delivered = Collections.synchronizedList(new ArrayList<>());
+        doAnswer(invocation -> {
+            MimeMessage msg = invocation.getArgument(0);
+            String chunk = InternetAddress.toString(msg.getAllRecipients());
+            if (chunk.contains("bad@example.org")) throw new MessagingException("Rejected");
+
+            delivered.add(chunk);
+            return null;
+        }).when(mailer).send(any(MimeMessage.class));
+
+        builder().subject("Message subject")
+                .recipients("bad@example.org, a@example.org, b@example.org, c@example.org, d@example.org")
+                .send(null);
+
+        verify(mailer, times(3)).send(any(MimeMessage.class));
+        assertEquals(2, delivered.size());
+        assertTrue(delivered.contains("b@example.org, c@example.org"));
+        assertTrue(delivered.contains("d@example.org"));
+
+        Map<String, String> history = new HashMap<>();
+        for (NotificationHistory.Record record: NotificationHistory.get().query(null, 0, 10).getRecords()) {
+            history.put(record.getStatus(), record.getRecipients());
+        }
+        assertEquals("bad@example.org, a@example.org", history.get("FAILED"));
+        assertThat(history.get("SENT"), containsString("d@example.org"));
+        assertThat(history.get("SENT"), not(containsString("bad@example.org")));
+    }
+
+    @Test
+    void blindCopyReferencedUsers() throws Exception {
+        User.getById("a_user", true).addProperty(new Mailer.UserProperty("a_user@example.com"));
+        doNothing().when(mailer).send(any(MimeMessage.class));
+
+        builder().subject("Message subject")
+                .recipients("a_user, me@example.com")
+                .send(null);
+
+        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailer, times(2)).send(captor.capture());
+
+        Map<String, MimeMessage> byRecipient = new HashMap<>();
+        for (MimeMessage msg: captor.getAllValues()) {
+            byRecipient.put(InternetAddress.toString(msg.getAllRecipients()), msg);
+        }
+
+        MimeMessage visible = byRecipient.get("me@example.com");
+        assertArrayEquals(InternetAddress.parse("me@example.com"), visible.getRecipients(Message.RecipientType.TO));
+        assertNull(visible.getRecipients(Message.RecipientType.BCC));
+
+        MimeMessage blind = byRecipient.get("a_user@example.com");
+        assertNull(blind.getRecipients(Message.RecipientType.TO));
+        assertArrayEquals(InternetAddress.parse("a_user@example.com"), blind.getRecipients(Message.RecipientType.BCC));
+    }
+
+    @Test
+    void retryDuplicateAfterFailedDelivery() throws Exception {
+        MailWatcherConfiguration.get().setDuplicateWindow(60);
+        doThrow(new MessagingException("Rejected")).doNothing().when(mailer).send(any(MimeMessage.class));
+
+        MailWatcherNotification.Builder builder = new MailWatcherNotification.Builder(mailer, "example.org") {
+            @Override
+            public void send(Object object) {
+                new MailWatcherNotification(this) {
+                    @Override
+                    protected String getRevision() {
+                        return "1";
+                    }
+                }.send();
+            }
+        }.subject("Message subject").recipients("a@example.org");
+
+        builder.send(null);
+        builder.send(null);
+        verify(mailer, times(2)).send(any(MimeMessage.class));
+
+        // Delivered, so filtered from now on
+        builder.send(null);
+        verify(mailer, times(2)).send(any(MimeMessage.class));
+    }
+
+    @Test
+    void recordDeferredOnceSent() throws Exception {
+        MailThrottle throttle = mock(MailThrottle.class);
+        doReturn(false).when(throttle).admit(any());
+        doReturn(throttle).when(mailer).throttle();
+        doNothing().when(mailer).send(any(MimeMessage.class));
+
+        builder().subject("Message subject")
+                .recipients("a@example.org")
+                .send(null);
+
+        ArgumentCaptor<MailThrottle.Deferred> deferred = ArgumentCaptor.forClass(MailThrottle.Deferred.class);
+        verify(throttle).defer(deferred.capture());
+        verify(mailer, never()).send(any(MimeMessage.class));
+        assertThat(statuses(), containsInAnyOrder("DEFERRED"));
+
+        mailer.sendDeferred(new MailThrottle.Group(deferred.getValue()));
+
+        verify(mailer).send(deferred.getValue().message);
+        assertThat(statuses(), containsInAnyOrder("DEFERRED", "SENT"));
+    }
+
+    @Test
+    void composeBeforeHandingOverToChannels() throws Exception {
+        doReturn(DeliveryChannels.get()).when(mailer).channels();
+        doNothing().when(mailer).send(any(MimeMessage.class));
+
+        String caller = Thread.currentThread().getName();
+        List<String> composers = Collections.synchronizedList(new ArrayList<>());
+        new MailWatcherNotification.Builder(mailer, "example.org") {
+            @Override
+            public void send(Object object) {
+                new MailWatcherNotification(this) {
+                    @Override
+                    protected String getBody() {
+                        composers.add(Thread.currentThread().getName());
+                        return "Composed by " + Thread.currentThread().getName();
+                    }
+                }.send();
+            }
+        }.subject("Message subject").recipients("notification@example.org").send(null);
+
+        ArgumentCaptor<MimeMessage> captor = ArgumentCaptor.forClass(MimeMessage.class);
+        verify(mailer, timeout(10_000)).send(captor.capture());
+        assertEquals(List.of(caller), composers);
+        assertThat((String) captor.getValue().getContent(), containsString("Composed by " + caller));
+    }
+
+    private List<String> statuses() {
+        List<String> statuses = new ArrayList<>();
+        for (NotificationHistory.Record record: NotificationHistory.get().query(null, 0, 10).getRecords()) {
+            assertEquals("a@example.org", record.getRecipients());
+            statuses.add(record.getStatus());
+        }
+        return statuses;
+    }
+
     private MailWatcherNotification.Builder builder() {
         return new MailWatcherNotification.Builder(mailer, "example.org") {
             @Override
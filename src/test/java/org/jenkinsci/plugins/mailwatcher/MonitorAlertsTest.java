@@ -0,0 +1,89 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MonitorAlertsTest {
+
+    private static final MonitorAlerts.Metric DISK = MonitorAlerts.Metric.DISK_SPACE;
+    private static final MonitorAlerts.Metric CLOCK = MonitorAlerts.Metric.CLOCK_DRIFT;
+
+    private final MonitorAlerts alerts = new MonitorAlerts();
+
+    @Test
+    void alertOnceBelowMinimum() {
+        assertNull(alerts.observe("a", DISK, 2000, 1000));
+
+        MonitorAlerts.Alert alert = alerts.observe("a", DISK, 900, 1000);
+        assertNotNull(alert);
+        assertFalse(alert.recovered());
+        assertEquals(900, alert.value());
+        assertEquals(1000, alert.threshold());
+
+        assertNull(alerts.observe("a", DISK, 500, 1000));
+        // Within the margin
+        assertNull(alerts.observe("a", DISK, 1050, 1000));
+        assertNull(alerts.observe("a", DISK, 950, 1000));
+
+        alert = alerts.observe("a", DISK, 1100, 1000);
+        assertNotNull(alert);
+        assertTrue(alert.recovered());
+
+        assertNull(alerts.observe("a", DISK, 1000, 1000));
+    }
+
+    @Test
+    void alertOnceAboveMaximum() {
+        assertNull(alerts.observe("a", CLOCK, 1000, 1000));
+        assertNotNull(alerts.observe("a", CLOCK, 1001, 1000));
+        assertNull(alerts.observe("a", CLOCK, 950, 1000));
+        assertTrue(alerts.observe("a", CLOCK, 900, 1000).recovered());
+    }
+
+    @Test
+    void trackMetricsAndNodesSeparately() {
+        assertNotNull(alerts.observe("a", DISK, 1, 1000));
+        assertNotNull(alerts.observe("a", CLOCK, 2000, 1000));
+        assertNotNull(alerts.observe("b", DISK, 1, 1000));
+
+        alerts.remove("a");
+        assertNotNull(alerts.observe("a", DISK, 1, 1000));
+        assertNull(alerts.observe("b", DISK, 1, 1000));
+    }
+
+    @Test
+    void forgetWithoutThreshold() {
+        assertNotNull(alerts.observe("a", DISK, 1, 1000));
+        assertNull(alerts.observe("a", DISK, 1, 0));
+        // Alerted again once watched again
+        assertNotNull(alerts.observe("a", DISK, 1, 1000));
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NodeStatesTest {
+
+    private final NodeStates states = new NodeStates(0);
+
+    @Test
+    void measureOutage() {
+        assertEquals(-1, states.online("a", 10));
+
+        states.offline("a", "Disconnected", 100);
+        // Still the same outage
+        states.offline("a", "Taken offline", 150);
+        assertEquals(400, states.online("a", 500));
+        assertEquals(-1, states.online("a", 600));
+    }
+
+    @Test
+    void reportAvailability() {
+        states.offline("a", "Disconnected", 0);
+        states.online("a", 250);
+        states.offline("b", "Taken offline", 500);
+        states.online("c", 900);
+
+        List<NodeStates.Availability> report = states.report(1000);
+        assertEquals(3, report.size());
+
+        NodeStates.Availability a = report.get(0);
+        assertEquals("a", a.name());
+        assertEquals(0.75, a.availability(), 0.001);
+        assertEquals(1, a.outages());
+        assertTrue(a.online());
+
+        NodeStates.Availability b = report.get(1);
+        assertEquals(0.0, b.availability(), 0.001);
+        assertFalse(b.online());
+        assertEquals(500, b.statusMillis());
+        assertEquals("Taken offline", b.cause());
+
+        // Seen only for the last 100 ms
+        assertEquals(1.0, report.get(2).availability(), 0.001);
+
+        // New period starts with the outage in progress
+        report = states.report(2000);
+        b = report.get(1);
+        assertEquals(0.0, b.availability(), 0.001);
+        assertEquals(1, b.outages());
+        assertEquals(1.0, report.get(0).availability(), 0.001);
+        assertEquals(0, report.get(0).outages());
+    }
+
+    @Test
+    void reuseSlotsOfRemovedComputers() {
+        for (int i = 0; i < 40; i++) {
+            states.offline("node" + i, null, i);
+        }
+        states.remove("node3");
+        states.offline("other", null, 100);
+
+        List<NodeStates.Availability> report = states.report(200);
+        assertEquals(40, report.size());
+        assertTrue(report.stream().noneMatch(r -> r.name().equals("node3")));
+        NodeStates.Availability other = report.stream().filter(r -> r.name().equals("other")).findFirst().get();
+        assertNull(other.cause());
+        assertEquals(100, other.statusMillis());
+    }
+}
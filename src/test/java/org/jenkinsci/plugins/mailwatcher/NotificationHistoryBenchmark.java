@@ -0,0 +1,83 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import hudson.Util;
+import hudson.XmlFile;
+import hudson.util.XStream2;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Cost of recording a notification compared to persisting every record as XML file.
+ */
+@State(Scope.Benchmark)
+public class NotificationHistoryBenchmark {
+
+    private static final XStream2 XSTREAM = new XStream2();
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private Path dir;
+    private NotificationHistory history;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("mail-watcher-history");
+        history = new NotificationHistory(dir.resolve("mapped"), 64 * 1024 * 1024);
+        Files.createDirectories(dir.resolve("xml"));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Util.deleteRecursive(dir.toFile());
+    }
+
+    @Benchmark
+    public void mappedSegment() {
+        history.record(record());
+    }
+
+    @Benchmark
+    public void xstreamPerRecord() throws IOException {
+        new XmlFile(XSTREAM, dir.resolve("xml").resolve(sequence.incrementAndGet() + ".xml").toFile()).write(record());
+    }
+
+    private static NotificationHistory.Record record() {
+        return new NotificationHistory.Record(
+                System.currentTimeMillis(), "folder/job", "mail-watcher-plugin: Job folder/job updated",
+                "a@example.com, b@example.com", "SENT"
+        );
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class NotificationHistoryTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void pageNewestFirst() {
+        NotificationHistory history = new NotificationHistory(dir, 1024 * 1024);
+        for (int i = 0; i < 5; i++) {
+            history.record(new NotificationHistory.Record(i, "job", "subject " + i, "a@example.com", "SENT"));
+        }
+
+        NotificationHistory.Page page = history.query(null, 0, 2);
+        assertEquals(List.of("subject 4", "subject 3"), subjects(page));
+        assertTrue(page.isHasNext());
+        assertFalse(page.isHasPrevious());
+
+        page = history.query(null, 4, 2);
+        assertEquals(List.of("subject 0"), subjects(page));
+        assertFalse(page.isHasNext());
+        assertTrue(page.isHasPrevious());
+    }
+
+    @Test
+    void readOnlySegmentsOfEntity() {
+        NotificationHistory history = new NotificationHistory(dir, 1);
+        history.record(new NotificationHistory.Record(1, "job", "first", "a@example.com", "SENT"));
+        history.record(new NotificationHistory.Record(2, "node", "second", "a@example.com", "SENT"));
+        history.record(new NotificationHistory.Record(3, "node", "third", "a@example.com", "FAILED"));
+        assertEquals(3, history.getSegmentCount());
+
+        NotificationHistory.Page page = history.query("job", 0, 10);
+        assertEquals(List.of("first"), subjects(page));
+        assertEquals(1, history.getSegmentsRead());
+    }
+
+    @Test
+    void readOnlySegmentsInTimeRange() {
+        NotificationHistory history = new NotificationHistory(dir, 1);
+        history.record(new NotificationHistory.Record(1000, "job", "first", "a@example.com", "SENT"));
+        history.record(new NotificationHistory.Record(2000, "job", "second", "a@example.com", "SENT"));
+        history.record(new NotificationHistory.Record(3000, "job", "third", "a@example.com", "SENT"));
+
+        assertEquals(List.of("second"), subjects(history.query(null, 1500, 2500, 0, 10)));
+        assertEquals(1, history.getSegmentsRead());
+
+        assertEquals(List.of("third", "second"), subjects(history.query("job", 2000, 3000, 0, 10)));
+        assertEquals(3, history.getSegmentsRead());
+
+        assertEquals(List.of(), subjects(history.query(null, 4000, Long.MAX_VALUE, 0, 10)));
+        assertEquals(3, history.getSegmentsRead());
+    }
+
+    @Test
+    void sanitizeFields() {
+        NotificationHistory history = new NotificationHistory(dir, 1024);
+        history.record(new NotificationHistory.Record(1, "job", "multi\nline\tsubject", null, "SENT"));
+
+        NotificationHistory.Record record = history.query(null, 0, 10).getRecords().get(0);
+        assertEquals("multi line subject", record.getSubject());
+        assertEquals("", record.getRecipients());
+    }
+
+    @Test
+    void reloadAndRetain() throws Exception {
+        NotificationHistory history = new NotificationHistory(dir, 1);
+        history.record(new NotificationHistory.Record(1000, "job", "old", "a@example.com", "SENT"));
+        history.record(new NotificationHistory.Record(5000, "job", "new", "a@example.com", "SENT"));
+        history.close();
+
+        history = new NotificationHistory(dir, 1);
+        assertEquals(2, history.getSegmentCount());
+        assertEquals(List.of("new", "old"), subjects(history.query("job", 0, 10)));
+
+        history.enforceRetention(2000);
+        assertEquals(1, history.getSegmentCount());
+        assertEquals(List.of("new"), subjects(history.query(null, 0, 10)));
+        assertEquals(1, segmentFiles());
+
+        history = new NotificationHistory(dir, 1);
+        assertEquals(List.of("new"), subjects(history.query(null, 0, 10)));
+    }
+
+    @Test
+    void truncateToRecordSize() {
+        NotificationHistory history = new NotificationHistory(dir, 1024);
+        String text = "\u017e".repeat(NotificationHistory.RECORD_BYTES);
+        history.record(new NotificationHistory.Record(1, "job", text, text, "SENT"));
+
+        NotificationHistory.Record record = history.query("job", 0, 10).getRecords().get(0);
+        assertTrue(text.startsWith(record.getSubject()));
+        assertTrue(text.startsWith(record.getRecipients()));
+        assertFalse(record.getRecipients().isEmpty());
+    }
+
+    @Test
+    void concurrentAppends() throws Exception {
+        NotificationHistory history = new NotificationHistory(dir, 8 * NotificationHistory.RECORD_BYTES);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                String entity = "job" + t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        history.record(new NotificationHistory.Record(i, entity, "subject " + i, "a@example.com", "SENT"));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(50, history.getSegmentCount());
+        assertEquals(100, history.query("job2", 0, 1000).getRecords().size());
+        assertEquals(400, history.query(null, 0, 1000).getRecords().size());
+    }
+
+    private long segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.count();
+        }
+    }
+
+    private static List<String> subjects(NotificationHistory.Page page) {
+        return page.getRecords().stream().map(NotificationHistory.Record::getSubject).toList();
+    }
+}
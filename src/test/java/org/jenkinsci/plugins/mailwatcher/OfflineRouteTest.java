@@ -0,0 +1,59 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import hudson.node_monitors.MonitorOfflineCause;
+import hudson.node_monitors.NodeMonitor;
+import hudson.node_monitors.ResponseTimeMonitor;
+import hudson.slaves.OfflineCause;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+class OfflineRouteTest {
+
+    @Test
+    void classifyCauses() {
+        assertEquals(OfflineRoute.Kind.LAUNCH, OfflineRoute.classify(new OfflineCause.LaunchFailed()));
+        // Subclasses match their closest known superclass
+        assertEquals(OfflineRoute.Kind.USER, OfflineRoute.classify(mock(OfflineCause.ByCLI.class)));
+        assertEquals(OfflineRoute.Kind.CHANNEL, OfflineRoute.classify(mock(OfflineCause.ChannelTermination.class)));
+        assertEquals(OfflineRoute.Kind.MONITOR, OfflineRoute.classify(new MonitorOfflineCause() {
+            @Override
+            public Class<? extends NodeMonitor> getTrigger() {
+                return ResponseTimeMonitor.class;
+            }
+        }));
+        assertEquals(OfflineRoute.Kind.OTHER, OfflineRoute.classify(mock(OfflineCause.class)));
+    }
+
+    @Test
+    void defaultToOtherCauses() {
+        final OfflineRoute route = new OfflineRoute(null, " ops@example.com ", true);
+
+        assertEquals(OfflineRoute.Kind.OTHER, route.getKind());
+        assertEquals("ops@example.com", route.getAddresses());
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.jenkinsci.plugins.mailwatcher.WatcherRule.Type.FOLDER;
+import static org.jenkinsci.plugins.mailwatcher.WatcherRule.Type.LABEL;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RecipientIndexTest {
+
+    private final RecipientIndex index = RecipientIndex.compile(List.of(
+            new WatcherRule(FOLDER, "team-a", "a@example.com"),
+            new WatcherRule(FOLDER, "/team-a/backend/", "backend@example.com"),
+            new WatcherRule(FOLDER, "team-b", "b@example.com"),
+            new WatcherRule(FOLDER, "team-c", ""),
+            new WatcherRule(LABEL, "linux-large", "large@example.com"),
+            new WatcherRule(LABEL, "linux", "linux@example.com"),
+            new WatcherRule(LABEL, "linux", "linux@example.com")
+    ));
+
+    @Test
+    void folderRules() {
+        assertEquals("a@example.com", index.forItem("team-a/job"));
+        assertEquals("a@example.com, backend@example.com", index.forItem("team-a/backend/sub/job"));
+        assertEquals("b@example.com", index.forItem("team-b"));
+
+        assertNull(index.forItem("team-ab/job"));
+        assertNull(index.forItem("team-c/job"));
+        assertNull(index.forItem("job"));
+        assertNull(index.forItem(null));
+    }
+
+    @Test
+    void rootFolderRule() {
+        RecipientIndex index = RecipientIndex.compile(List.of(
+                new WatcherRule(FOLDER, "", "all@example.com"),
+                new WatcherRule(FOLDER, "team-a", "a@example.com")
+        ));
+
+        assertEquals("all@example.com", index.forItem("job"));
+        assertEquals("all@example.com, a@example.com", index.forItem("team-a/job"));
+    }
+
+    @Test
+    void labelRules() {
+        assertEquals(Set.of("linux@example.com", "large@example.com"), index.forLabels(List.of("linux", "linux-large", "x86")));
+        assertEquals(Set.of("linux@example.com"), index.forLabels(List.of("linux")));
+        assertTrue(index.forLabels(List.of("windows")).isEmpty());
+    }
+
+    @Test
+    void empty() {
+        assertNull(RecipientIndex.EMPTY.forItem("team-a/job"));
+        assertTrue(RecipientIndex.EMPTY.forLabels(List.of("linux")).isEmpty());
+    }
+}
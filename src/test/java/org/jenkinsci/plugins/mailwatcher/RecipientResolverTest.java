@@ -0,0 +1,122 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import hudson.model.User;
+import hudson.security.ACL;
+import hudson.security.ACLContext;
+import hudson.tasks.Mailer;
+import hudson.util.FormValidation;
+import jenkins.model.Jenkins;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.MockAuthorizationStrategy;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@WithJenkins
+class RecipientResolverTest {
+
+    private JenkinsRule j;
+    private RecipientResolver resolver;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) {
+        j = rule;
+        resolver = RecipientResolver.get();
+    }
+
+    @Test
+    void tokenize() {
+        assertEquals(
+                List.of("a@example.com", "\"Doe, John\" <john@example.com>", "<x,y@example.com>", "user", "@group"),
+                RecipientResolver.tokenize(" a@example.com,\"Doe, John\" <john@example.com>, <x,y@example.com>,, user ,@group")
+        );
+        assertEquals(List.of(), RecipientResolver.tokenize(null));
+    }
+
+    @Test
+    void resolveUsers() throws Exception {
+        User user = User.getById("a_user", true);
+        user.addProperty(new Mailer.UserProperty("a_user@example.com"));
+
+        assertEquals(
+                "a_user@example.com, other@example.com, no_such_user",
+                resolver.resolve("a_user, other@example.com, no_such_user, a_user@example.com")
+        );
+        assertEquals("a_user@example.com", resolver.address(user));
+    }
+
+    @Test
+    void reloadSavedUser() throws Exception {
+        User user = User.getById("a_user", true);
+        user.addProperty(new Mailer.UserProperty("old@example.com"));
+        assertEquals("old@example.com", resolver.resolve("a_user"));
+
+        user.addProperty(new Mailer.UserProperty("new@example.com"));
+        assertEquals("new@example.com", resolver.resolve("a_user"));
+    }
+
+    @Test
+    void acceptKnownUsers() throws Exception {
+        j.jenkins.setSecurityRealm(j.createDummySecurityRealm());
+        j.jenkins.setAuthorizationStrategy(new MockAuthorizationStrategy()
+                .grant(Jenkins.ADMINISTER).everywhere().to("admin")
+                .grant(Jenkins.READ).everywhere().to("reader")
+        );
+        User.getById("a_user", true).addProperty(new Mailer.UserProperty("a_user@example.com"));
+
+        WatcherJobProperty.DescriptorImpl descriptor = new WatcherJobProperty.DescriptorImpl();
+        try (ACLContext ctx = ACL.as(User.getById("admin", true))) {
+            assertEquals(FormValidation.ok(), descriptor.doCheckWatcherAddresses(null, "a_user, b@example.com"));
+            assertEquals(
+                    FormValidation.error("no_such_user does not look like an email address").toString(),
+                    descriptor.doCheckWatcherAddresses(null, "a_user, no_such_user").toString()
+            );
+        }
+
+        // Nothing to learn about users for those who cannot configure the recipients
+        try (ACLContext ctx = ACL.as(User.getById("reader", true))) {
+            assertEquals(FormValidation.ok(), descriptor.doCheckWatcherAddresses(null, "a_user, no_such_user"));
+        }
+        try (ACLContext ctx = ACL.as2(Jenkins.ANONYMOUS2)) {
+            assertEquals(FormValidation.ok(), descriptor.doCheckWatcherAddresses(null, "a_user, no_such_user"));
+        }
+    }
+
+    @Test
+    void boundCache() {
+        for (int i = 0; i < RecipientResolver.MAX_ENTRIES + 10; i++) {
+            resolver.resolve("user_" + i);
+        }
+
+        assertEquals("user_0", resolver.resolve("user_0"));
+        assertTrue(resolver.cachedUsers() <= RecipientResolver.MAX_ENTRIES);
+    }
+}
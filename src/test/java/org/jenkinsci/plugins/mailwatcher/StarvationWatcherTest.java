@@ -0,0 +1,130 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class StarvationWatcherTest {
+
+    private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+    private static final long SUSTAIN = 10 * MINUTE;
+
+    private final StarvationWatcher watcher = new StarvationWatcher(mock(MailWatcherMailer.class), "http://example.com/");
+
+    @Test
+    void reportSustainedStarvationOnce() {
+        for (int minute = 0; minute < 10; minute++) {
+            assertEquals(List.of(), sample(minute, 50, 0));
+        }
+
+        List<StarvationWatcher.Alert> alerts = sample(10, 50, 0);
+        assertEquals(1, alerts.size());
+        assertFalse(alerts.get(0).recovered());
+        assertEquals("linux-large", alerts.get(0).label());
+        assertEquals(SUSTAIN, alerts.get(0).starvingMillis());
+
+        assertEquals(List.of(), sample(11, 60, 0));
+        assertEquals(List.of(), sample(12, 60, 0));
+    }
+
+    @Test
+    void restartWhenStarvationIsInterrupted() {
+        sample(0, 50, 0);
+        assertEquals(List.of(), sample(5, 30, 0));
+        assertEquals(List.of(), sample(6, 50, 2));
+
+        // Sustained since the interruption only
+        assertEquals(List.of(), sample(10, 50, 0));
+        assertEquals(List.of(), sample(19, 50, 0));
+
+        List<StarvationWatcher.Alert> alerts = sample(20, 50, 0);
+        assertEquals(1, alerts.size());
+        assertEquals(SUSTAIN, alerts.get(0).starvingMillis());
+    }
+
+    @Test
+    void ignoreFluctuationBetweenWatermarks() {
+        sample(0, 50, 0);
+        assertEquals(1, sample(10, 50, 0).size());
+
+        assertEquals(List.of(), sample(11, 30, 0));
+        assertEquals(List.of(), sample(12, 40, 1));
+        assertEquals(List.of(), sample(13, 21, 0));
+
+        List<StarvationWatcher.Alert> alerts = sample(14, 20, 0);
+        assertEquals(1, alerts.size());
+        assertTrue(alerts.get(0).recovered());
+        assertEquals(14 * MINUTE, alerts.get(0).starvingMillis());
+    }
+
+    @Test
+    void recoverWithThresholdOfOne() {
+        sample(0, 1, 0, 1);
+        assertEquals(1, sample(10, 1, 0, 1).size());
+
+        List<StarvationWatcher.Alert> alerts = sample(11, 0, 0, 1);
+        assertEquals(1, alerts.size());
+        assertTrue(alerts.get(0).recovered());
+        assertEquals(List.of(), sample(12, 0, 0, 1));
+    }
+
+    @Test
+    void recoverWhenQueueEmpties() {
+        sample(0, 50, 0);
+        assertEquals(1, sample(10, 50, 0).size());
+
+        List<StarvationWatcher.Alert> alerts = watcher.evaluate(Collections.emptyMap(), 40, SUSTAIN, 11 * MINUTE);
+        assertEquals(1, alerts.size());
+        assertTrue(alerts.get(0).recovered());
+        assertEquals(0, alerts.get(0).queued());
+    }
+
+    @Test
+    void ignoreLabelsWithIdleExecutors() {
+        for (int minute = 0; minute <= 20; minute++) {
+            assertEquals(List.of(), sample(minute, 500, 1));
+        }
+    }
+
+    private List<StarvationWatcher.Alert> sample(int minute, int queued, int idle) {
+        return sample(minute, queued, idle, 40);
+    }
+
+    private List<StarvationWatcher.Alert> sample(int minute, int queued, int idle, int threshold) {
+        return watcher.evaluate(
+                Map.of("linux-large", new StarvationWatcher.Load("linux-large", queued, idle)),
+                threshold, SUSTAIN, minute * MINUTE
+        );
+    }
+}
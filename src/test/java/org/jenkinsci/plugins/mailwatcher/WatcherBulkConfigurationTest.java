@@ -0,0 +1,195 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import hudson.ExtensionList;
+import hudson.model.FreeStyleProject;
+import hudson.model.Job;
+import hudson.model.listeners.ItemListener;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.TestExtension;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class WatcherBulkConfigurationTest {
+
+    private static final String ADDRESSES = "team <team@example.com>";
+
+    private final WatcherBulkConfiguration bulk = new WatcherBulkConfiguration();
+
+    @Test
+    void selectJobsByFolder() throws Exception {
+        final List<Job<?, ?>> jobs = jobs("team-a/app", "team-a/sub/lib", "team-ab/app", "other/app");
+
+        final WatcherBulkConfiguration.Result result = bulk.apply(jobs, "/team-a/", null, ADDRESSES, true, 2);
+
+        assertEquals(2, result.matched());
+        assertEquals(2, result.updated());
+        assertEquals(List.of(), result.failed());
+        verify(jobs.get(0)).addProperty(any(WatcherJobProperty.class));
+        verify(jobs.get(1)).addProperty(any(WatcherJobProperty.class));
+        verify(jobs.get(2), never()).addProperty(any(WatcherJobProperty.class));
+        verify(jobs.get(3), never()).addProperty(any(WatcherJobProperty.class));
+    }
+
+    @Test
+    void selectJobsByFolderAndPattern() throws Exception {
+        final List<Job<?, ?>> jobs = jobs("team-a/app", "team-a/sub/lib", "other/app");
+
+        final WatcherBulkConfiguration.Result result = bulk.apply(
+                jobs, "team-a", Pattern.compile(".*/app"), ADDRESSES, false, 0
+        );
+
+        assertEquals(1, result.matched());
+        verify(jobs.get(0)).addProperty(any(WatcherJobProperty.class));
+        verify(jobs.get(0), times(1)).save();
+    }
+
+    @Test
+    void doNotSaveJobsConfiguredAlready() throws Exception {
+        final List<Job<?, ?>> jobs = jobs("a", "b");
+        final WatcherJobProperty property = new WatcherJobProperty(ADDRESSES);
+        property.setWatchBuildResults(true);
+        when(jobs.get(0).getProperty(WatcherJobProperty.class)).thenReturn(property);
+        when(jobs.get(1).getProperty(WatcherJobProperty.class)).thenReturn(new WatcherJobProperty(ADDRESSES));
+
+        final WatcherBulkConfiguration.Result result = bulk.apply(jobs, null, null, ADDRESSES, true, 0);
+
+        assertEquals(2, result.matched());
+        assertEquals(1, result.updated());
+        verify(jobs.get(0), never()).save();
+        verify(jobs.get(1), times(1)).save();
+    }
+
+    @Test
+    void removeWatcher() throws Exception {
+        final List<Job<?, ?>> jobs = jobs("a", "b");
+        when(jobs.get(0).getProperty(WatcherJobProperty.class)).thenReturn(new WatcherJobProperty(ADDRESSES));
+
+        final WatcherBulkConfiguration.Result result = bulk.apply(jobs, null, null, null, false, 0);
+
+        assertEquals(1, result.updated());
+        verify(jobs.get(0)).removeProperty(WatcherJobProperty.class);
+        verify(jobs.get(0), never()).addProperty(any(WatcherJobProperty.class));
+        verify(jobs.get(1), never()).save();
+    }
+
+    @Test
+    void reportFailedJobs() throws Exception {
+        final List<Job<?, ?>> jobs = jobs("a", "b", "c");
+        doThrow(new IOException("Disk full")).when(jobs.get(1)).save();
+
+        final WatcherBulkConfiguration.Result result = bulk.apply(jobs, null, null, ADDRESSES, false, 0);
+
+        assertEquals(3, result.matched());
+        assertEquals(2, result.updated());
+        assertEquals(List.of("b"), result.failed());
+    }
+
+    @Test
+    @WithJenkins
+    void rejectBlankSelection(JenkinsRule j) throws Exception {
+        final FreeStyleProject job = j.createFreeStyleProject("app");
+        job.addProperty(new WatcherJobProperty(ADDRESSES));
+
+        final IllegalArgumentException ex = assertThrows(
+                IllegalArgumentException.class, () -> WatcherBulkConfiguration.get().apply("/", " ", null, false, 0)
+        );
+
+        assertEquals("Folder or regular expression is required", ex.getMessage());
+        assertNotNull(job.getProperty(WatcherJobProperty.class));
+    }
+
+    @Test
+    @WithJenkins
+    void doNotReportBulkSave(JenkinsRule j) throws Exception {
+        final FreeStyleProject job = j.createFreeStyleProject("app");
+        job.addProperty(new WatcherJobProperty(ADDRESSES));
+        final RecordingChannel channel = ExtensionList.lookupSingleton(RecordingChannel.class);
+
+        // Updates through the configuration form are reported
+        ItemListener.fireOnUpdated(job);
+        assertEquals("mail-watcher-plugin: Job app updated", channel.subjects.poll(10, TimeUnit.SECONDS));
+
+        final WatcherBulkConfiguration.Result result = WatcherBulkConfiguration.get().apply(
+                null, "app", "other@example.com", false, 0
+        );
+
+        assertEquals(1, result.updated());
+        assertEquals("other@example.com", job.getProperty(WatcherJobProperty.class).getWatcherAddresses());
+        assertNull(channel.subjects.poll(2, TimeUnit.SECONDS));
+    }
+
+    private List<Job<?, ?>> jobs(final String... names) {
+        final List<Job<?, ?>> jobs = new ArrayList<>();
+        for (final String name: names) {
+            final Job<?, ?> job = mock(Job.class);
+            when(job.getFullName()).thenReturn(name);
+            jobs.add(job);
+        }
+
+        return jobs;
+    }
+
+    @TestExtension("doNotReportBulkSave")
+    public static class RecordingChannel extends DeliveryChannel {
+
+        private final BlockingQueue<String> subjects = new LinkedBlockingQueue<>();
+
+        @Override
+        public boolean isEnabled(final MailWatcherConfiguration config) {
+            return true;
+        }
+
+        @Override
+        public void deliver(final MailWatcherNotification notification, final MailWatcherConfiguration config) {
+            subjects.add(notification.getMailSubject());
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Recording";
+        }
+    }
+}
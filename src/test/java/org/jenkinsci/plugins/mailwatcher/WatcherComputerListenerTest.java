@@ -39,12 +39,15 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.Arrays;
+import java.util.List;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -127,6 +130,61 @@ class WatcherComputerListenerTest {
         assertTrue(notification.shouldNotify());
     }
 
+    @Test
+    void reportOfflineDuration() throws Exception {
+        final Computer computer = getComputerStub();
+        when(computer.getName()).thenReturn("cmpName");
+
+        listener.onOffline(computer);
+        listener.onOnline(computer, null);
+
+        ArgumentCaptor<MailWatcherNotification> argument = ArgumentCaptor.forClass(MailWatcherNotification.class);
+        verify(mailer, times(2)).send(argument.capture());
+        assertThat(argument.getAllValues().get(0).getMailBody(), not(containsString("Offline for")));
+        assertThat(argument.getAllValues().get(1).getMailBody(), containsString("Offline for: "));
+    }
+
+    @Test
+    void cacheResolvedRecipients() throws Exception {
+        final Computer computer = getComputerStub();
+        when(computer.getName()).thenReturn("cmpName");
+        final Node node = computer.getNode();
+
+        listener.onOffline(computer);
+        listener.onOnline(computer, null);
+        verify(node, times(1)).getNodeProperties();
+
+        listener.invalidate("cmpName");
+        listener.onOffline(computer);
+        verify(node, times(2)).getNodeProperties();
+
+        ArgumentCaptor<MailWatcherNotification> argument = ArgumentCaptor.forClass(MailWatcherNotification.class);
+        verify(mailer, times(3)).send(argument.capture());
+        assertEquals("online <recipient@list.com>", argument.getAllValues().get(1).getRecipients());
+        assertEquals("offline <recipient@list.com>", argument.getAllValues().get(2).getRecipients());
+    }
+
+    @Test
+    void routeOfflineByCause() throws Exception {
+        final WatcherNodeProperty property = new WatcherNodeProperty(
+                "online <recipient@list.com>", "offline <recipient@list.com>");
+        property.setOfflineRoutes(List.of(
+                new OfflineRoute(OfflineRoute.Kind.LAUNCH, "ops <ops@list.com>", false)
+        ));
+        final Node node = mock(Node.class);
+        when(node.getNodeProperties()).thenReturn(getPropertiesList(property));
+        final Computer computer = mock(Computer.class);
+        when(computer.getNode()).thenReturn(node);
+
+        listener.onOffline(computer, new OfflineCause.LaunchFailed());
+        listener.onTemporarilyOffline(computer, mock(OfflineCause.class));
+
+        ArgumentCaptor<MailWatcherNotification> argument = ArgumentCaptor.forClass(MailWatcherNotification.class);
+        verify(mailer, times(2)).send(argument.capture());
+        assertEquals("ops <ops@list.com>", argument.getAllValues().get(0).getRecipients());
+        assertEquals("offline <recipient@list.com>", argument.getAllValues().get(1).getRecipients());
+    }
+
     private Computer getComputerStub() {
         final Computer computerStub = mock(Computer.class);
         final Node nodeStub = getNodeStub();
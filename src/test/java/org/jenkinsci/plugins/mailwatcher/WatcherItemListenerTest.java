@@ -31,6 +31,7 @@ import org.jenkinsci.plugins.mailwatcher.jobConfigHistory.ConfigHistory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -38,6 +39,9 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
 
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -46,6 +50,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -163,6 +168,22 @@ class WatcherItemListenerTest {
         Mockito.verifyNoInteractions(configHistory);
     }
 
+    @Test
+    void skipUnchangedConfiguration(@TempDir Path root) throws Exception {
+        when(jobStub.getRootDir()).thenReturn(root.toFile());
+        when(jobStub.getFullName()).thenReturn("job");
+        Path config = root.resolve("config.xml");
+
+        Files.writeString(config, "<project/>");
+        listener.onUpdated(jobStub);
+        listener.onUpdated(jobStub);
+        verify(mailer, times(1)).send(any(MailWatcherNotification.class));
+
+        Files.writeString(config, "<project><disabled>true</disabled></project>");
+        listener.onUpdated(jobStub);
+        verify(mailer, times(2)).send(any(MailWatcherNotification.class));
+    }
+
     private Job<?, ?> getJobStub() {
         final Job<?, ?> jobStub = Mockito.mock(Job.class);
 
@@ -31,7 +31,6 @@ import org.junit.jupiter.api.BeforeEach;
 import org.mockito.Mockito;
 import org.mockito.stubbing.Answer;
 
-import java.net.URL;
 import java.util.Arrays;
 import java.util.List;
 
@@ -70,7 +69,7 @@ class WatcherItemListenerWithJobConfigHistoryPluginTest extends WatcherItemListe
 
     private void givenInstanceUrl(final String url) {
         when(mailer.absoluteUrl(Mockito.anyString())).thenAnswer(
-                (Answer<URL>) invocation -> new URL(url + invocation.getArguments()[0]));
+                (Answer<String>) invocation -> url + invocation.getArguments()[0]);
     }
 
     private void givenJobConfigHistoryPlugin() {
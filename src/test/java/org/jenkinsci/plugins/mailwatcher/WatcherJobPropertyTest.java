@@ -36,21 +36,21 @@ class WatcherJobPropertyTest {
     void validAddressProvided() {
         assertEquals(
                 FormValidation.ok(),
-                descriptor.doCheckWatcherAddresses("an address <an.address@mail.com>"));
+                descriptor.doCheckWatcherAddresses(null, "an address <an.address@mail.com>"));
     }
 
     @Test
     void noAddressProvided() {
         assertEquals(
                 FormValidation.warning("Empty address list provided").toString(),
-                descriptor.doCheckWatcherAddresses("").toString());
+                descriptor.doCheckWatcherAddresses(null, "").toString());
     }
 
     @Test
     void invalidAddressProvided() {
         assertEquals(
                 FormValidation.error("not.an.address does not look like an email address").toString(),
-                descriptor.doCheckWatcherAddresses("not.an.address").toString());
+                descriptor.doCheckWatcherAddresses(null, "not.an.address").toString());
     }
 
     @Test
@@ -60,6 +60,6 @@ class WatcherJobPropertyTest {
 
         assertEquals(
                 FormValidation.error(expectedMessage).toString(),
-                descriptor.doCheckWatcherAddresses(addressCandidate).toString());
+                descriptor.doCheckWatcherAddresses(null, addressCandidate).toString());
     }
 }
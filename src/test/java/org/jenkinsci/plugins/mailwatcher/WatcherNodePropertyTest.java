@@ -29,6 +29,8 @@ import net.sf.json.JSONObject;
 import org.junit.jupiter.api.Test;
 import org.kohsuke.stapler.StaplerRequest2;
 
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
 
@@ -42,11 +44,11 @@ class WatcherNodePropertyTest {
     void validAddressProvided() {
         assertEquals(
                 FormValidation.ok(),
-                descriptor.doCheckOnlineAddresses("an address <an.address@mail.com>"));
+                descriptor.doCheckOnlineAddresses(null, "an address <an.address@mail.com>"));
 
         assertEquals(
                 FormValidation.ok(),
-                descriptor.doCheckOfflineAddresses("an address <an.address@mail.com>"));
+                descriptor.doCheckOfflineAddresses(null, "an address <an.address@mail.com>"));
     }
 
     @Test
@@ -57,11 +59,11 @@ class WatcherNodePropertyTest {
 
         assertEquals(
                 expected,
-                descriptor.doCheckOnlineAddresses("").toString());
+                descriptor.doCheckOnlineAddresses(null, "").toString());
 
         assertEquals(
                 expected,
-                descriptor.doCheckOfflineAddresses("").toString());
+                descriptor.doCheckOfflineAddresses(null, "").toString());
     }
 
     @Test
@@ -72,11 +74,11 @@ class WatcherNodePropertyTest {
 
         assertEquals(
                 expected,
-                descriptor.doCheckOnlineAddresses("not.an.address").toString());
+                descriptor.doCheckOnlineAddresses(null, "not.an.address").toString());
 
         assertEquals(
                 expected,
-                descriptor.doCheckOfflineAddresses("not.an.address").toString());
+                descriptor.doCheckOfflineAddresses(null, "not.an.address").toString());
     }
 
     @Test
@@ -86,11 +88,11 @@ class WatcherNodePropertyTest {
 
         assertEquals(
                 FormValidation.error(expectedMessage).toString(),
-                descriptor.doCheckOnlineAddresses(addressCandidate).toString());
+                descriptor.doCheckOnlineAddresses(null, addressCandidate).toString());
 
         assertEquals(
                 FormValidation.error(expectedMessage).toString(),
-                descriptor.doCheckOfflineAddresses(addressCandidate).toString());
+                descriptor.doCheckOfflineAddresses(null, addressCandidate).toString());
     }
 
     @Test
@@ -122,6 +124,21 @@ class WatcherNodePropertyTest {
         assertNull(getInstanceFor("", ""));
     }
 
+    @Test
+    void instantiateUsingMonitorThresholdOnly() throws FormException {
+        final JSONObject input = new JSONObject();
+        input.accumulate(WatcherNodeProperty.DescriptorImpl.ONLINE_ADDRESSES, "");
+        input.accumulate(WatcherNodeProperty.DescriptorImpl.OFFLINE_ADDRESSES, "");
+        input.accumulate(WatcherNodeProperty.DescriptorImpl.DISK_SPACE_THRESHOLD, 2);
+        input.accumulate(WatcherNodeProperty.DescriptorImpl.CLOCK_DRIFT_THRESHOLD, 5);
+
+        WatcherNodeProperty prop = (WatcherNodeProperty) descriptor.newInstance((StaplerRequest2) null, input);
+
+        assertEquals(
+                Map.of(MonitorAlerts.Metric.DISK_SPACE, 2L * 1024 * 1024, MonitorAlerts.Metric.CLOCK_DRIFT, 5000L),
+                prop.getMonitorThresholds());
+    }
+
     private WatcherNodeProperty getInstanceFor(final String online, final String offline) throws FormException {
         final JSONObject input = new JSONObject();
 
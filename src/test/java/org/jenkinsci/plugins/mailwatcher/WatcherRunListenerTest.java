@@ -0,0 +1,183 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import hudson.console.AnnotatedLargeText;
+import hudson.model.Job;
+import hudson.model.Result;
+import hudson.model.Run;
+import hudson.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPOutputStream;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WatcherRunListenerTest {
+
+    @Mock
+    private MailWatcherMailer mailer;
+
+    @Mock
+    private MailWatcherConfiguration config;
+
+    @TempDir
+    Path dir;
+
+    private WatcherRunListener listener;
+
+    private Job<?, ?> job;
+
+    @BeforeEach
+    void setUp() {
+        listener = new WatcherRunListener(mailer, "http://example.com/my-jenkins/");
+
+        final User initiator = mock(User.class);
+        when(initiator.getId()).thenReturn("someone@example.com");
+        when(mailer.getDefaultInitiator()).thenReturn(initiator);
+        when(mailer.configuration()).thenReturn(config);
+        when(config.getIndex()).thenReturn(RecipientIndex.EMPTY);
+        when(config.getBuildLogLines()).thenReturn(2);
+
+        job = mock(Job.class);
+        WatcherJobProperty property = new WatcherJobProperty("fake <recipient@list.com>");
+        property.setWatchBuildResults(true);
+        when(job.getProperty(WatcherJobProperty.class)).thenReturn(property);
+    }
+
+    @Test
+    void notifyResultChange() throws Exception {
+        final Run<?, ?> run = run(Result.SUCCESS, Result.FAILURE);
+        log(run, "log", "first\nsecond\nthird\n");
+
+        listener.onFinalized(run);
+
+        ArgumentCaptor<MailWatcherNotification> captor = ArgumentCaptor.forClass(MailWatcherNotification.class);
+        verify(mailer).send(captor.capture());
+        MailWatcherNotification notification = captor.getValue();
+
+        assertEquals("fake <recipient@list.com>", notification.getRecipients());
+        assertEquals("mail-watcher-plugin: Build job #2 changed from SUCCESS to FAILURE", notification.getMailSubject());
+        assertThat(notification.getMailBody(), containsString("http://example.com/my-jenkins/job/job/2/"));
+        assertThat(notification.getMailBody(), containsString("SUCCESS -> FAILURE"));
+        assertThat(notification.getMailBody(), containsString("second\nthird\n"));
+    }
+
+    @Test
+    void excerptCompressedLog() throws Exception {
+        final Run<?, ?> run = run(Result.FAILURE, Result.SUCCESS);
+        log(run, "log.gz", "first\nsecond\nthird\n");
+
+        listener.onFinalized(run);
+
+        ArgumentCaptor<MailWatcherNotification> captor = ArgumentCaptor.forClass(MailWatcherNotification.class);
+        verify(mailer).send(captor.capture());
+        assertThat(captor.getValue().getMailBody(), containsString("Console log (last 2 lines):\n\nsecond\nthird\n"));
+    }
+
+    @Test
+    void notifyFolderRecipients() throws Exception {
+        EffectiveRecipients effective = mock(EffectiveRecipients.class);
+        when(effective.of(job)).thenReturn("fake <recipient@list.com>, folder@example.com");
+        when(mailer.effectiveRecipients()).thenReturn(effective);
+
+        listener.onFinalized(run(Result.SUCCESS, Result.FAILURE));
+
+        ArgumentCaptor<MailWatcherNotification> captor = ArgumentCaptor.forClass(MailWatcherNotification.class);
+        verify(mailer).send(captor.capture());
+        assertEquals("fake <recipient@list.com>, folder@example.com", captor.getValue().getRecipients());
+    }
+
+    @Test
+    void ignoreSameResult() throws Exception {
+        listener.onFinalized(run(Result.FAILURE, Result.FAILURE));
+
+        verify(mailer, never()).send(any(MailWatcherNotification.class));
+    }
+
+    @Test
+    void ignoreFirstBuild() throws Exception {
+        listener.onFinalized(run(null, Result.FAILURE));
+
+        verify(mailer, never()).send(any(MailWatcherNotification.class));
+    }
+
+    @Test
+    void ignoreJobsNotOptedIn() throws Exception {
+        when(job.getProperty(WatcherJobProperty.class)).thenReturn(new WatcherJobProperty("fake <recipient@list.com>"));
+
+        listener.onFinalized(run(Result.SUCCESS, Result.FAILURE));
+
+        verify(mailer, never()).send(any(MailWatcherNotification.class));
+    }
+
+    private void log(Run<?, ?> run, String name, String content) throws IOException {
+        Path file = dir.resolve(name);
+        try (OutputStream out = name.endsWith(".gz")
+                ? new GZIPOutputStream(Files.newOutputStream(file))
+                : Files.newOutputStream(file)) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        doReturn(new AnnotatedLargeText<>(file.toFile(), StandardCharsets.UTF_8, true, run)).when(run).getLogText();
+    }
+
+    private Run<?, ?> run(Result previousResult, Result result) throws Exception {
+        Run<?, ?> run = mock(Run.class);
+        doReturn(job).when(run).getParent();
+        when(run.getResult()).thenReturn(result);
+        when(run.getUrl()).thenReturn("job/job/2/");
+        when(run.getFullDisplayName()).thenReturn("job #2");
+
+        if (previousResult != null) {
+            Run<?, ?> previous = mock(Run.class);
+            when(previous.getResult()).thenReturn(previousResult);
+            doReturn(previous).when(run).getPreviousCompletedBuild();
+        }
+
+        return run;
+    }
+}
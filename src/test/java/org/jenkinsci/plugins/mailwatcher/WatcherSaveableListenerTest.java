@@ -0,0 +1,121 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher;
+
+import hudson.XmlFile;
+import hudson.model.FreeStyleProject;
+import hudson.model.Saveable;
+import hudson.model.User;
+import jakarta.mail.MessagingException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.io.File;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class WatcherSaveableListenerTest {
+
+    @TempDir
+    private File home;
+
+    @Mock
+    private MailWatcherMailer mailer;
+    @Mock
+    private MailWatcherConfiguration config;
+
+    private WatcherSaveableListener listener;
+
+    @BeforeEach
+    void setUp() {
+        listener = new WatcherSaveableListener(mailer, "http://example.com/jenkins/", home);
+
+        final User initiator = mock(User.class);
+        when(initiator.getId()).thenReturn("admin");
+        when(mailer.getDefaultInitiator()).thenReturn(initiator);
+        when(mailer.configuration()).thenReturn(config);
+
+        when(config.getGlobalConfigAddresses()).thenReturn("admins@example.com");
+        when(config.getWatchedGlobalFiles()).thenReturn("config.xml\ncredentials.xml");
+    }
+
+    @Test
+    void notifyWatchedFileChange() throws MessagingException {
+        listener.onChange(mock(Saveable.class), file("credentials.xml"));
+
+        ArgumentCaptor<MailWatcherNotification> captor = ArgumentCaptor.forClass(MailWatcherNotification.class);
+        verify(mailer).send(captor.capture());
+
+        MailWatcherNotification notification = captor.getValue();
+        assertEquals("admins@example.com", notification.getRecipients());
+        assertEquals("mail-watcher-plugin: Global configuration credentials.xml changed", notification.getMailSubject());
+        assertEquals("http://example.com/jenkins/manage/", notification.pairs().get("Url"));
+    }
+
+    @Test
+    void ignoreOtherFiles() throws MessagingException {
+        listener.onChange(mock(Saveable.class), file("queue.xml"));
+        listener.onChange(mock(Saveable.class), file("nodes/agent/config.xml"));
+
+        verify(mailer, never()).send(any(MailWatcherNotification.class));
+    }
+
+    @Test
+    void ignoreItemsWithoutLookingAtPath() throws MessagingException {
+        XmlFile file = mock(XmlFile.class);
+        listener.onChange(mock(FreeStyleProject.class), file);
+
+        verify(file, never()).getFile();
+        verify(mailer, never()).send(any(MailWatcherNotification.class));
+    }
+
+    @Test
+    void followConfigurationChanges() throws MessagingException {
+        when(config.getWatchedGlobalFiles()).thenReturn("queue.xml");
+        listener.onChange(mock(Saveable.class), file("queue.xml"));
+        listener.onChange(mock(Saveable.class), file("config.xml"));
+
+        verify(mailer).send(any(MailWatcherNotification.class));
+    }
+
+    private XmlFile file(String name) {
+        XmlFile file = mock(XmlFile.class);
+        when(file.getFile()).thenReturn(new File(home, name));
+        return file;
+    }
+}
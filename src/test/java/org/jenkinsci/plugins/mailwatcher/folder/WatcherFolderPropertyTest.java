@@ -0,0 +1,86 @@
+/*
+ * The MIT License
+ *
+ * Copyright (c) 2026 Red Hat, Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.jenkinsci.plugins.mailwatcher.folder;
+
+import com.cloudbees.hudson.plugins.folder.Folder;
+import hudson.model.Item;
+import hudson.model.listeners.ItemListener;
+import org.jenkinsci.plugins.mailwatcher.MailWatcherMailer;
+import org.jenkinsci.plugins.mailwatcher.MailWatcherNotification;
+import org.jenkinsci.plugins.mailwatcher.WatchedItemType;
+import org.jenkinsci.plugins.mailwatcher.WatcherItemListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.jvnet.hudson.test.JenkinsRule;
+import org.jvnet.hudson.test.junit.jupiter.WithJenkins;
+import org.mockito.ArgumentCaptor;
+
+import java.lang.reflect.Field;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+@WithJenkins
+class WatcherFolderPropertyTest {
+
+    private JenkinsRule j;
+    private MailWatcherMailer mailer;
+
+    @BeforeEach
+    void setUp(JenkinsRule rule) throws Exception {
+        j = rule;
+
+        mailer = mock(MailWatcherMailer.class);
+        WatcherItemListener listener = j.jenkins.getExtensionList(WatcherItemListener.class).get(0);
+        Field field = listener.getClass().getDeclaredField("mailer");
+        field.setAccessible(true);
+        field.set(listener, mailer);
+    }
+
+    @Test
+    void notifyFolderWatchers() throws Exception {
+        Folder folder = j.jenkins.createProject(Folder.class, "a_folder");
+        folder.getProperties().add(new WatcherFolderProperty("folder@example.com"));
+
+        ItemListener.fireOnUpdated(folder);
+
+        ArgumentCaptor<MailWatcherNotification> captor = ArgumentCaptor.forClass(MailWatcherNotification.class);
+        verify(mailer).send(captor.capture());
+
+        MailWatcherNotification notification = captor.getValue();
+        assertEquals("folder@example.com", notification.getRecipients());
+        assertEquals("mail-watcher-plugin: Folder a_folder updated", notification.getMailSubject());
+    }
+
+    @Test
+    void dispatchByType() throws Exception {
+        Folder folder = j.jenkins.createProject(Folder.class, "a_folder");
+
+        assertInstanceOf(FolderItemType.class, WatchedItemType.of(folder));
+        assertNull(WatchedItemType.of(mock(Item.class)));
+    }
+}